@@ -0,0 +1,69 @@
+package com.talismanresourceserver.benchmark;
+
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.model.type.CardType;
+import com.talismanresourceserver.model.type.FightType;
+import com.talismanresourceserver.repository.DeckRepository;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic decks for the benchmarks, generated from a fixed seed so every run measures the same data.
+ */
+final class BenchmarkDecks {
+
+    static final String NAME_OF_DECK = "benchmark-deck";
+
+    private static final String[] FIGHT_POWERS = {"1", "2", "3", "4", "5", "6", "7", "8", "?"};
+
+    private BenchmarkDecks() {
+    }
+
+    static Deck generate(int numberOfCards) {
+        var random = new SplittableRandom(numberOfCards);
+        var types = CardType.values();
+        var fightTypes = FightType.values();
+        var cards = new ArrayList<Card>(numberOfCards);
+
+        for (int i = 0; i < numberOfCards; i++) {
+            var type = types[random.nextInt(types.length)];
+            var enemy = type == CardType.WRÓG;
+            var card = Card.builder()
+                    .name("Karta " + i)
+                    .type(type)
+                    .subtype(enemy ? "Potwór" : "Zwykła")
+                    .fight_statistic(enemy ? fightTypes[random.nextInt(fightTypes.length)] : null)
+                    .fight_power(enemy ? FIGHT_POWERS[random.nextInt(FIGHT_POWERS.length)] : null)
+                    .meeting_number(random.nextInt(1, 7))
+                    .number_of_copies(random.nextInt(1, 4))
+                    .description("Opis karty " + i + ", która zajmuje trochę miejsca jak prawdziwy tekst z gry.")
+                    .build();
+
+            card.resolveFightPower();
+            cards.add(card);
+        }
+
+        return Deck.builder().nameOfDeck(NAME_OF_DECK).contentVersion("v" + numberOfCards).cards(cards).build();
+    }
+
+    /**
+     * Repository answering the queries of {@link com.talismanresourceserver.service.StatisticsService} from memory,
+     * the way MongoDB would, so the benchmarks measure the service and not the database.
+     */
+    static DeckRepository repositoryOf(Deck deck) {
+        return (DeckRepository) Proxy.newProxyInstance(DeckRepository.class.getClassLoader(),
+                new Class<?>[]{DeckRepository.class}, (proxy, method, arguments) -> switch (method.getName()) {
+                    case "findCardsOfTypeInDeck" -> Mono.just(Deck.builder()
+                            .nameOfDeck(deck.getNameOfDeck())
+                            .cards(deck.getCards().stream().filter(card -> card.getType() == arguments[1]).toList())
+                            .build());
+                    case "toString" -> "BenchmarkDeckRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,57 @@
+package com.talismanresourceserver.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of a whole deck and of a single card in every format the API produces, configured like the
+ * codecs registered in {@link com.talismanresourceserver.config.WebConfig}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodingBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int deckSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter writer;
+    private Deck deck;
+    private Card card;
+
+    @Setup
+    public void setUp() {
+        var builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        writer = builder.build().writer();
+        deck = BenchmarkDecks.generate(deckSize);
+        card = deck.getCards().get(0);
+    }
+
+    @Benchmark
+    public byte[] encodeDeck() throws JsonProcessingException {
+        return writer.writeValueAsBytes(deck);
+    }
+
+    @Benchmark
+    public byte[] encodeCard() throws JsonProcessingException {
+        return writer.writeValueAsBytes(card);
+    }
+}
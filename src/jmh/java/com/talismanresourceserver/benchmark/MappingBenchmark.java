@@ -0,0 +1,45 @@
+package com.talismanresourceserver.benchmark;
+
+import com.talismanresourceserver.model.Deck;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a stored MongoDB document to {@link Deck}, which every repository read pays for.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int deckSize;
+
+    private MappingMongoConverter converter;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        var mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        document = new Document();
+        converter.write(BenchmarkDecks.generate(deckSize), document);
+    }
+
+    @Benchmark
+    public Deck readDeck() {
+        return converter.read(Deck.class, document);
+    }
+}
@@ -0,0 +1,87 @@
+package com.talismanresourceserver.benchmark;
+
+import com.talismanresourceserver.cache.CatalogStatisticsCache;
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.config.SimulationProperties;
+import com.talismanresourceserver.dto.DeckEnemiesDTO;
+import com.talismanresourceserver.dto.DeckEnemiesStatsDTO;
+import com.talismanresourceserver.dto.DeckStatisticsDTO;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.service.SingleFlight;
+import com.talismanresourceserver.service.StatisticsService;
+import com.talismanresourceserver.statistics.FightOddsTables;
+import com.talismanresourceserver.statistics.MonteCarloSimulator;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics computed by {@link StatisticsService} over a single deck and over the whole catalog. The repository and
+ * the cache answer from memory, so only the aggregation itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int deckSize;
+
+    private StatisticsService statisticsService;
+
+    @Setup
+    public void setUp() {
+        var deck = BenchmarkDecks.generate(deckSize);
+        var unversionedDeck = Deck.builder().nameOfDeck(deck.getNameOfDeck()).cards(deck.getCards()).build();
+        var cacheProperties = new CacheProperties();
+
+        var deckCache = new DeckCache(null, cacheProperties, event -> {}) {
+            @Override
+            public Mono<Deck> getDeck(String nameOfDeck) {
+                return Mono.just(deck);
+            }
+
+            // Without a version the catalog statistics are computed on every call instead of served from the cache.
+            @Override
+            public Flux<Deck> getAllDecks() {
+                return Flux.just(unversionedDeck);
+            }
+        };
+
+        statisticsService = new StatisticsService(BenchmarkDecks.repositoryOf(deck), deckCache, new SingleFlight(),
+                new MonteCarloSimulator(cacheProperties, new SimulationProperties()), new FightOddsTables(cacheProperties),
+                new CatalogStatisticsCache());
+    }
+
+    @Benchmark
+    public DeckStatisticsDTO uniqueStatsFromDeck() {
+        return statisticsService.getUniqueStatsFromDeck(BenchmarkDecks.NAME_OF_DECK).block();
+    }
+
+    @Benchmark
+    public DeckStatisticsDTO allStatsFromDeck() {
+        return statisticsService.getAllStatsFromDeck(BenchmarkDecks.NAME_OF_DECK).block();
+    }
+
+    @Benchmark
+    public DeckEnemiesStatsDTO allEnemiesFromDeck() {
+        return statisticsService.getAllEnemiesFromDeck(BenchmarkDecks.NAME_OF_DECK).block();
+    }
+
+    @Benchmark
+    public List<DeckEnemiesDTO> numberOfEnemies() {
+        return statisticsService.getNumberOfEnemies(BenchmarkDecks.NAME_OF_DECK).collectList().block();
+    }
+
+    @Benchmark
+    public DeckStatisticsDTO statsFromAllDecks() {
+        return statisticsService.getAllStats().block().statistics();
+    }
+}
@@ -0,0 +1,86 @@
+package com.talismanresourceserver.cache;
+
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Exact set of the deck and card names in the catalog, consulted before a lookup goes to MongoDB. A name that is not
+ * in the set is known to be missing and can be rejected at once. Until the first catalog load every name is treated
+ * as possibly present, so nothing is rejected while the sets are still empty.
+ * <p>
+ * The sets follow the {@link DeckCatalogLoadedEvent}s. A deck saved through this application is also added as soon as
+ * it is written, before the catalog is reloaded, so it is never rejected in between. Decks written elsewhere become
+ * visible with the next scheduled refresh of the catalog.
+ */
+@Component
+public class CatalogNames {
+
+    private volatile Map<String, Set<String>> cardNamesByDeck;
+
+    @EventListener
+    public void onCatalogLoaded(DeckCatalogLoadedEvent event) {
+        update(event.decks());
+    }
+
+    @EventListener
+    public void onDeckSaved(AfterSaveEvent<?> event) {
+        if (event.getSource() instanceof Deck deck)
+            add(deck);
+    }
+
+    public synchronized void add(Deck deck) {
+        var names = cardNamesByDeck;
+
+        if (names == null)
+            return;
+
+        var updated = new HashMap<>(names);
+        updated.put(deck.getNameOfDeck(), cardNamesOf(deck));
+        cardNamesByDeck = Map.copyOf(updated);
+    }
+
+    public synchronized void update(List<Deck> decks) {
+        var names = new HashMap<String, Set<String>>(decks.size() * 2);
+
+        for (Deck deck : decks)
+            names.put(deck.getNameOfDeck(), cardNamesOf(deck));
+
+        cardNamesByDeck = Map.copyOf(names);
+    }
+
+    public boolean mayContainDeck(String nameOfDeck) {
+        var names = cardNamesByDeck;
+
+        return names == null || names.containsKey(nameOfDeck);
+    }
+
+    public boolean mayContainCard(String nameOfDeck, String nameOfCard) {
+        var names = cardNamesByDeck;
+
+        if (names == null)
+            return true;
+
+        var cardNames = names.get(nameOfDeck);
+
+        return cardNames != null && cardNames.contains(nameOfCard);
+    }
+
+    private static Set<String> cardNamesOf(Deck deck) {
+        var cardNames = new HashSet<String>();
+
+        if (deck.getCards() != null)
+            deck.getCards().stream().map(Card::getName).filter(Objects::nonNull).forEach(cardNames::add);
+
+        return Set.copyOf(cardNames);
+    }
+}
@@ -0,0 +1,35 @@
+package com.talismanresourceserver.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talismanresourceserver.dto.DeckStatisticsDTO;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps the statistics of the whole catalog per catalog version, so they are computed once after every change of the
+ * catalog instead of on every request. Only the latest versions are ever read, so a handful of entries is enough.
+ */
+@Component
+public class CatalogStatisticsCache {
+
+    private static final int MAX_ENTRIES = 8;
+
+    private final AsyncCache<Key, DeckStatisticsDTO> statistics = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .buildAsync();
+
+    public Mono<DeckStatisticsDTO> get(String catalogVersion, String kind, Supplier<Mono<DeckStatisticsDTO>> computation) {
+        if (catalogVersion == null)
+            return computation.get();
+
+        // Cancellation of one subscriber must not cancel the computation shared with the others.
+        return Mono.fromFuture(() -> statistics.get(new Key(catalogVersion, kind),
+                (key, executor) -> computation.get().toFuture()), true);
+    }
+
+    private record Key(String catalogVersion, String kind) {
+    }
+}
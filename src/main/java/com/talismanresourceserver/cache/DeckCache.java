@@ -0,0 +1,198 @@
+package com.talismanresourceserver.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.dto.CacheStatisticsDTO;
+import com.talismanresourceserver.model.ContentVersion;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.repository.DeckRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of {@link DeckRepository}. Decks are kept by their name and the
+ * whole listing is kept under a single key, so repeated reads of the catalog never reach MongoDB
+ * until the entries expire or the cache is refreshed.
+ * <p>
+ * Every load of the listing is published as a {@link DeckCatalogLoadedEvent}, so the in-memory structures built
+ * from the catalog follow its changes without querying MongoDB themselves. The listing is reloaded whenever a deck is
+ * saved or deleted through this application, and refreshed every TTL to pick up writes made elsewhere.
+ */
+@Component
+@Slf4j
+public class DeckCache implements DisposableBean {
+
+    private static final String ALL_DECKS_KEY = "all";
+    private static final String DECKS_COLLECTION = "cards";
+
+    private final DeckRepository deckRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+
+    private final AsyncCache<String, Deck> decks;
+    private final AsyncLoadingCache<String, List<Deck>> allDecks;
+
+    // A load started before a write may miss it, so it is not published. The write starts a load of its own.
+    private final AtomicLong writes = new AtomicLong();
+    private final Object publicationLock = new Object();
+
+    private volatile Disposable scheduledRefresh;
+
+    public DeckCache(DeckRepository deckRepository, CacheProperties cacheProperties,
+                     ApplicationEventPublisher eventPublisher) {
+        this.deckRepository = deckRepository;
+        this.eventPublisher = eventPublisher;
+        this.ttl = cacheProperties.getTtl();
+        this.decks = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .expireAfterWrite(cacheProperties.getTtl())
+                .recordStats()
+                .buildAsync();
+        // The listing never expires, readers keep getting the previous one while it is being refreshed.
+        this.allDecks = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(cacheProperties.getTtl())
+                .recordStats()
+                .buildAsync((key, executor) -> loadCatalog());
+    }
+
+    public Mono<Deck> getDeck(String nameOfDeck) {
+        // Cancellation of one subscriber must not cancel the load shared with the others.
+        return Mono.fromFuture(() -> decks.get(nameOfDeck, (key, executor) ->
+                deckRepository.findDeckByNameOfDeck(key).toFuture()), true);
+    }
+
+    public Flux<Deck> getAllDecks() {
+        return Mono.fromFuture(() -> allDecks.get(ALL_DECKS_KEY), true)
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Version of the whole catalog, derived from the content versions of the given listing, or {@code null} when any
+     * deck has not been versioned yet.
+     */
+    public static String versionOf(List<Deck> decks) {
+        var versions = decks.stream()
+                .map(deck -> Objects.requireNonNullElse(deck.getContentVersion(), ""))
+                .sorted()
+                .toList();
+
+        return versions.contains("") ? null : ContentVersion.of(versions);
+    }
+
+    public Mono<CacheStatisticsDTO> refresh() {
+        decks.synchronous().invalidateAll();
+        allDecks.synchronous().invalidateAll();
+
+        return getAllDecks().then(Mono.fromSupplier(this::statistics));
+    }
+
+    public CacheStatisticsDTO statistics() {
+        CacheStats stats = decks.synchronous().stats().plus(allDecks.synchronous().stats());
+
+        return CacheStatisticsDTO.builder()
+                .size(decks.synchronous().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        getAllDecks().count()
+                .subscribe(count -> log.info("Loaded {} decks into the cache", count),
+                        error -> log.warn("Could not warm up the deck cache", error));
+
+        // refreshAfterWrite only acts when the listing is read, while lookups rely on the structures derived from it.
+        scheduledRefresh = Flux.interval(ttl, ttl)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromFuture(() -> allDecks.synchronous().refresh(ALL_DECKS_KEY))
+                        .onErrorResume(error -> {
+                            log.warn("Could not refresh the deck catalog", error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @EventListener
+    public void onDeckSaved(AfterSaveEvent<?> event) {
+        if (event.getSource() instanceof Deck deck)
+            onDeckWritten(deck.getNameOfDeck());
+    }
+
+    @EventListener
+    public void onDeckDeleted(AfterDeleteEvent<?> event) {
+        if (DECKS_COLLECTION.equals(event.getCollectionName()))
+            onDeckWritten(null);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduledRefresh != null)
+            scheduledRefresh.dispose();
+    }
+
+    private void onDeckWritten(String nameOfDeck) {
+        writes.incrementAndGet();
+
+        if (nameOfDeck != null)
+            decks.synchronous().invalidate(nameOfDeck);
+        else
+            decks.synchronous().invalidateAll();
+
+        allDecks.synchronous().invalidate(ALL_DECKS_KEY);
+        getAllDecks().subscribe(null, error -> log.warn("Could not reload the deck catalog after a write", error));
+    }
+
+    private CompletableFuture<List<Deck>> loadCatalog() {
+        long loadedWrites = writes.get();
+
+        return deckRepository.findAll().collectList()
+                .flatMap(loadedDecks -> onCatalogLoaded(loadedDecks, loadedWrites))
+                .toFuture();
+    }
+
+    private Mono<List<Deck>> onCatalogLoaded(List<Deck> loadedDecks, long loadedWrites) {
+        // Listeners build their structures synchronously, so they run off the driver thread. The listing completes
+        // only after them, which keeps everything derived from the catalog consistent with what the cache returns.
+        return Mono.fromRunnable(() -> publish(loadedDecks, loadedWrites))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(error -> {
+                    log.warn("Could not update the structures derived from the deck catalog", error);
+                    return Mono.empty();
+                })
+                .thenReturn(loadedDecks);
+    }
+
+    private void publish(List<Deck> loadedDecks, long loadedWrites) {
+        synchronized (publicationLock) {
+            if (loadedWrites != writes.get())
+                return;
+
+            loadedDecks.forEach(deck -> decks.put(deck.getNameOfDeck(), CompletableFuture.completedFuture(deck)));
+            eventPublisher.publishEvent(new DeckCatalogLoadedEvent(loadedDecks));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.talismanresourceserver.cache;
+
+import com.talismanresourceserver.model.Deck;
+
+import java.util.List;
+
+/**
+ * Published by {@link DeckCache} with every deck of the catalog each time the listing is loaded from MongoDB.
+ */
+public record DeckCatalogLoadedEvent(List<Deck> decks) {
+}
@@ -0,0 +1,83 @@
+package com.talismanresourceserver.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.model.Deck;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized form of every deck, both as plain JSON and gzip compressed, so that reading an unchanged
+ * deck costs neither serialization nor compression. Entries are keyed by {@link Deck#getContentVersion()}, so a
+ * changed deck is encoded again. Encoding runs on {@link Schedulers#boundedElastic()}, never on the event loop, and
+ * concurrent reads of a version that is not cached yet share one encoding.
+ */
+@Component
+public class DeckPayloadCache {
+
+    // The same configuration the WebFlux JSON codec uses, so cached and freshly encoded bodies are identical.
+    private final ObjectWriter writer = Jackson2ObjectMapperBuilder.json().build().writerFor(Deck.class);
+
+    private final AsyncCache<Key, EncodedDeck> payloads;
+
+    public DeckPayloadCache(CacheProperties cacheProperties) {
+        this.payloads = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .buildAsync();
+    }
+
+    public Mono<EncodedDeck> get(Deck deck) {
+        var version = deck.getContentVersion();
+
+        if (version == null)
+            return encodeLater(deck);
+
+        // Cancellation of one subscriber must not cancel the encoding shared with the others.
+        return Mono.fromFuture(() -> payloads.get(new Key(deck.getNameOfDeck(), version),
+                (key, executor) -> encodeLater(deck).toFuture()), true);
+    }
+
+    private Mono<EncodedDeck> encodeLater(Deck deck) {
+        return Mono.fromCallable(() -> encode(deck)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private EncodedDeck encode(Deck deck) {
+        try {
+            var json = writer.writeValueAsBytes(deck);
+
+            return new EncodedDeck(deck.getContentVersion(), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode deck " + deck.getNameOfDeck(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var output = new ByteArrayOutputStream(json.length / 4);
+
+        // Every payload is compressed once per version, so the slowest level is worth it.
+        try (var gzip = new GZIPOutputStream(output) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return output.toByteArray();
+    }
+
+    public record EncodedDeck(String version, byte[] json, byte[] gzip) {
+    }
+
+    private record Key(String nameOfDeck, String version) {
+    }
+}
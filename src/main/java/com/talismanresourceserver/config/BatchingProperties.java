@@ -0,0 +1,17 @@
+package com.talismanresourceserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "talisman.batching")
+@Data
+public class BatchingProperties {
+
+    private boolean enabled = false;
+
+    private Duration window = Duration.ofMillis(5);
+
+    private int maxSize = 64;
+}
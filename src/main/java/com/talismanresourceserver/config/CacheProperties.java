@@ -0,0 +1,15 @@
+package com.talismanresourceserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "talisman.cache")
+@Data
+public class CacheProperties {
+
+    private long maxSize = 256;
+
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,75 @@
+package com.talismanresourceserver.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary Jackson encoders that write a {@link Flux} as a single array. {@link Jackson2CborEncoder} refuses to encode
+ * a {@link Flux} at all, and {@link Jackson2SmileEncoder} joins the elements with JSON text delimiters, which are not
+ * valid Smile. Collecting first gives both formats the same shape as the JSON listing.
+ */
+public final class CollectingJacksonEncoders {
+
+    private CollectingJacksonEncoders() {
+    }
+
+    public static class Cbor extends Jackson2CborEncoder {
+
+        public Cbor(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono)
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+
+            return collect(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+
+    public static class Smile extends Jackson2SmileEncoder {
+
+        public Smile(ObjectMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            // application/stream+x-jackson-smile keeps its element by element form.
+            if (inputStream instanceof Mono || isStreaming(mimeType))
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+
+            return collect(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+
+        private boolean isStreaming(MimeType mimeType) {
+            return mimeType != null && getStreamingMediaTypes().stream().anyMatch(mimeType::isCompatibleWith);
+        }
+    }
+
+    private static Flux<DataBuffer> collect(AbstractJackson2Encoder encoder, Publisher<?> inputStream,
+                                            DataBufferFactory bufferFactory, ResolvableType elementType,
+                                            MimeType mimeType, Map<String, Object> hints) {
+        var listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+
+        return Flux.from(inputStream)
+                .collectList()
+                .map(list -> encoder.encodeValue(list, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
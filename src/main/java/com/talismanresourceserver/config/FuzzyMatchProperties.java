@@ -0,0 +1,15 @@
+package com.talismanresourceserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "talisman.fuzzy-match")
+@Data
+public class FuzzyMatchProperties {
+
+    private int maxDistance = 2;
+
+    private boolean autoResolve = false;
+
+    private int maxSuggestions = 5;
+}
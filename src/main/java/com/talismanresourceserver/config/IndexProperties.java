@@ -0,0 +1,13 @@
+package com.talismanresourceserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "talisman.indexes")
+@Data
+public class IndexProperties {
+
+    private boolean createOnStartup = true;
+
+    private boolean verifyQueryPlans = true;
+}
@@ -0,0 +1,44 @@
+package com.talismanresourceserver.config;
+
+import com.talismanresourceserver.metrics.RouteMetricsFilter;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> NETTY_URI_PREFIXES =
+            List.of("/api/decks", "/api/statistics", "/api/cards", "/api/sessions", "/api/admin", "/actuator");
+
+    /**
+     * Requests are timed by {@link RouteMetricsFilter}, so the default server observation would only record them twice.
+     */
+    @Bean
+    ObservationPredicate serverRequestObservationPredicate() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext);
+    }
+
+    /**
+     * Enables the Reactor Netty metrics: connections, data sent and received and pending tasks of the event loops.
+     */
+    @Bean
+    WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyMetricsCustomizer() {
+        return factory -> factory.addServerCustomizers(server -> server.metrics(true, MetricsConfig::nettyUriTag));
+    }
+
+    // Netty sees raw paths, which would give a meter per deck and card, so they are cut down to the API they belong to.
+    private static String nettyUriTag(String uri) {
+        for (String prefix : NETTY_URI_PREFIXES) {
+            if (uri.startsWith(prefix))
+                return prefix;
+        }
+
+        return "UNKNOWN";
+    }
+}
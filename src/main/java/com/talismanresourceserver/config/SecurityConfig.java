@@ -9,9 +9,14 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 @Configuration
 public class SecurityConfig {
 
+    public static final String ADMIN_AUTHORITY = "SCOPE_admin";
+
     @Bean
     SecurityWebFilterChain filterChain(ServerHttpSecurity http) {
         http.authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/actuator/health/**").permitAll()
+                .pathMatchers("/api/admin/**").hasAuthority(ADMIN_AUTHORITY)
+                .pathMatchers("/actuator/**").authenticated()
                 .anyExchange().permitAll())
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()));
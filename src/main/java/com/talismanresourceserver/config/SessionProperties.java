@@ -0,0 +1,15 @@
+package com.talismanresourceserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "talisman.sessions")
+@Data
+public class SessionProperties {
+
+    private long maxSessions = 50_000;
+
+    private Duration idleTimeout = Duration.ofMinutes(30);
+}
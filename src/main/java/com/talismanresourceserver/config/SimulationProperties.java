@@ -0,0 +1,13 @@
+package com.talismanresourceserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "talisman.simulation")
+@Data
+public class SimulationProperties {
+
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private int maxConcurrentSimulations = 2;
+}
@@ -1,6 +1,10 @@
 package com.talismanresourceserver.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.config.CorsRegistry;
 import org.springframework.web.reactive.config.EnableWebFlux;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
@@ -9,6 +13,8 @@ import org.springframework.web.reactive.config.WebFluxConfigurer;
 @EnableWebFlux
 public class WebConfig implements WebFluxConfigurer {
 
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
 
@@ -18,4 +24,16 @@ public class WebConfig implements WebFluxConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(false);
     }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        var cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        var smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+        configurer.customCodecs().register(new CollectingJacksonEncoders.Cbor(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        // Smile is a default codec as soon as it is on the classpath, so it is replaced rather than registered.
+        configurer.defaultCodecs().jackson2SmileEncoder(new CollectingJacksonEncoders.Smile(smileMapper));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+    }
 }
@@ -0,0 +1,112 @@
+package com.talismanresourceserver.controller;
+
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.dto.BatchStatisticsDTO;
+import com.talismanresourceserver.dto.CacheStatisticsDTO;
+import com.talismanresourceserver.dto.ExceptionResponseDTO;
+import com.talismanresourceserver.dto.QueryPlanDTO;
+import com.talismanresourceserver.dto.RecordingDTO;
+import com.talismanresourceserver.dto.SessionStatisticsDTO;
+import com.talismanresourceserver.exception.RecordingConflictException;
+import com.talismanresourceserver.exception.RecordingNotFoundException;
+import com.talismanresourceserver.jfr.FlightRecordings;
+import com.talismanresourceserver.repository.QueryPlanVerifier;
+import com.talismanresourceserver.service.CardLookupBatcher;
+import com.talismanresourceserver.session.DeckSessionStore;
+import lombok.AllArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin
+@AllArgsConstructor
+public class AdminController {
+
+    private static final long MAX_RECORDING_SECONDS = 600;
+    private static final long MAX_RECORDING_MEGABYTES = 256;
+
+    private final DeckCache deckCache;
+    private final QueryPlanVerifier queryPlanVerifier;
+    private final CardLookupBatcher cardLookupBatcher;
+    private final DeckSessionStore deckSessionStore;
+    private final FlightRecordings flightRecordings;
+
+    @GetMapping("/cache")
+    public Mono<CacheStatisticsDTO> getCacheStatistics() {
+        return Mono.fromSupplier(deckCache::statistics);
+    }
+
+    @PostMapping("/cache/refresh")
+    public Mono<CacheStatisticsDTO> refreshCache() {
+        return deckCache.refresh();
+    }
+
+    @GetMapping("/query-plans")
+    public Flux<QueryPlanDTO> getQueryPlans() {
+        return queryPlanVerifier.verify();
+    }
+
+    @GetMapping("/batching")
+    public Mono<BatchStatisticsDTO> getBatchStatistics() {
+        return Mono.fromSupplier(cardLookupBatcher::statistics);
+    }
+
+    @GetMapping("/sessions")
+    public Mono<SessionStatisticsDTO> getSessionStatistics() {
+        return Mono.fromSupplier(deckSessionStore::statistics);
+    }
+
+    @PostMapping("/recording")
+    public Mono<RecordingDTO> startRecording(
+            @RequestParam(name = "durationSeconds", defaultValue = "60") long durationSeconds,
+            @RequestParam(name = "maxSizeMegabytes", defaultValue = "64") long maxSizeMegabytes) {
+        var duration = Duration.ofSeconds(Math.max(1, Math.min(durationSeconds, MAX_RECORDING_SECONDS)));
+        long maxSizeBytes = Math.max(1, Math.min(maxSizeMegabytes, MAX_RECORDING_MEGABYTES)) * 1024 * 1024;
+
+        return Mono.fromSupplier(() -> flightRecordings.start(duration, maxSizeBytes));
+    }
+
+    @PostMapping("/recording/stop")
+    public Mono<RecordingDTO> stopRecording() {
+        return Mono.fromSupplier(flightRecordings::stop);
+    }
+
+    @GetMapping("/recording")
+    public Mono<RecordingDTO> getRecording() {
+        return Mono.justOrEmpty(flightRecordings.status());
+    }
+
+    @GetMapping("/recording/file")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> downloadRecording() {
+        return flightRecordings.download()
+                .map(content -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment().filename("talisman.jfr").build().toString())
+                        .body(content));
+    }
+
+    @ExceptionHandler(RecordingConflictException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> recordingConflictExceptionResponse(RecordingConflictException recordingConflictException) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.CONFLICT.value(), recordingConflictException.getMessage())));
+    }
+
+    @ExceptionHandler(RecordingNotFoundException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> recordingNotFoundExceptionResponse(RecordingNotFoundException recordingNotFoundException) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.NOT_FOUND.value(), recordingNotFoundException.getMessage())));
+    }
+}
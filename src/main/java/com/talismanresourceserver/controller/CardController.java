@@ -0,0 +1,38 @@
+package com.talismanresourceserver.controller;
+
+import com.talismanresourceserver.dto.CardSearchResultDTO;
+import com.talismanresourceserver.dto.CardSuggestionDTO;
+import com.talismanresourceserver.search.CardNameAutocomplete;
+import com.talismanresourceserver.search.CardSearchIndex;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/cards")
+@CrossOrigin
+@AllArgsConstructor
+public class CardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final CardSearchIndex cardSearchIndex;
+    private final CardNameAutocomplete cardNameAutocomplete;
+
+    @GetMapping("/search")
+    public ResponseEntity<Flux<CardSearchResultDTO>> searchCards(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(Flux.defer(() ->
+                Flux.fromIterable(cardSearchIndex.search(query, Math.min(limit, MAX_LIMIT)))));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<Flux<CardSuggestionDTO>> autocompleteCardNames(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(Flux.defer(() ->
+                Flux.fromIterable(cardNameAutocomplete.complete(prefix, Math.min(limit, CardNameAutocomplete.MAX_SUGGESTIONS)))));
+    }
+}
@@ -0,0 +1,73 @@
+package com.talismanresourceserver.controller;
+
+import com.talismanresourceserver.config.WebConfig;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds responses carrying the content version as a strong {@code ETag}. For {@code GET} requests WebFlux compares
+ * it with {@code If-None-Match} and answers {@code 304 Not Modified} without subscribing to the body.
+ * <p>
+ * Each encoding is a different representation, so the binary formats get the version with a suffix of their own.
+ * The format is taken from the {@code Accept} header the same way the codecs pick it, with JSON for anything else.
+ */
+final class ConditionalResponses {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(WebConfig.APPLICATION_SMILE_VALUE);
+
+    private ConditionalResponses() {
+    }
+
+    static ResponseEntity.BodyBuilder ok(String version, List<MediaType> accept) {
+        return ok(version == null ? null : version + suffixFor(accept));
+    }
+
+    static <T> Mono<ResponseEntity<Mono<T>>> ok(Mono<String> version, List<MediaType> accept, Mono<T> body) {
+        return ok(version.map(value -> value + suffixFor(accept)), body);
+    }
+
+    static <T> Mono<ResponseEntity<Flux<T>>> ok(Mono<String> version, List<MediaType> accept, Flux<T> body) {
+        return ok(version.map(value -> value + suffixFor(accept)), body);
+    }
+
+    static ResponseEntity.BodyBuilder ok(String version) {
+        // The same resource is available in several formats, so shared caches must key it by the Accept header too.
+        var builder = ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+
+        return version == null ? builder : builder.eTag(version);
+    }
+
+    private static <T> Mono<ResponseEntity<Mono<T>>> ok(Mono<String> version, Mono<T> body) {
+        return version.map(value -> ok(value).body(body))
+                .defaultIfEmpty(ResponseEntity.ok(body));
+    }
+
+    private static <T> Mono<ResponseEntity<Flux<T>>> ok(Mono<String> version, Flux<T> body) {
+        return version.map(value -> ok(value).body(body))
+                .defaultIfEmpty(ResponseEntity.ok(body));
+    }
+
+    private static String suffixFor(List<MediaType> accept) {
+        var sorted = new ArrayList<>(accept);
+        MimeTypeUtils.sortBySpecificity(sorted);
+
+        for (MediaType mediaType : sorted) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON))
+                return "";
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR))
+                return "-cbor";
+            if (mediaType.isCompatibleWith(APPLICATION_SMILE))
+                return "-smile";
+        }
+
+        return "";
+    }
+}
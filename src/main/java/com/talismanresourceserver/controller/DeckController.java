@@ -1,5 +1,10 @@
 package com.talismanresourceserver.controller;
 
+import com.talismanresourceserver.cache.DeckPayloadCache;
+import com.talismanresourceserver.config.WebConfig;
+import com.talismanresourceserver.dto.CardLookupDTO;
+import com.talismanresourceserver.dto.CardLookupResultDTO;
+import com.talismanresourceserver.dto.DeckIndexDTO;
 import com.talismanresourceserver.dto.ExceptionResponseDTO;
 import com.talismanresourceserver.exception.CardNotFoundException;
 import com.talismanresourceserver.exception.DeckNotFoundException;
@@ -10,12 +15,17 @@ import com.talismanresourceserver.model.type.FightType;
 import com.talismanresourceserver.service.CardService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/decks")
 @CrossOrigin
@@ -23,16 +33,62 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class DeckController {
 
+    private static final int MAX_DRAWN_CARDS = 1000;
+
     private final CardService cardService;
+    private final DeckPayloadCache deckPayloadCache;
 
     @GetMapping
     public ResponseEntity<Flux<Deck>> getDecks() {
         return ResponseEntity.ok(cardService.getAllDecks());
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<Flux<Deck>> streamDecks() {
+        return ResponseEntity.ok(cardService.getAllDecks());
+    }
+
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<Flux<Deck>> getDeckSummaries() {
+        return ResponseEntity.ok(cardService.getDeckSummaries());
+    }
+
+    @GetMapping(params = "view=index")
+    public ResponseEntity<Flux<DeckIndexDTO>> getDeckIndex() {
+        return ResponseEntity.ok(cardService.getDeckIndex());
+    }
+
     @GetMapping("/{nameOfDeck}")
-    public ResponseEntity<Mono<Deck>> getDeckByName(@PathVariable String nameOfDeck) {
-        return ResponseEntity.ok(cardService.getDeckByNameOfDeck(nameOfDeck));
+    public Mono<ResponseEntity<byte[]>> getDeckByName(@PathVariable String nameOfDeck,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                      String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        return cardService.getDeckByNameOfDeck(nameOfDeck)
+                .flatMap(deckPayloadCache::get)
+                .map(payload -> {
+                    // Each encoding is a different representation, so it needs its own strong ETag.
+                    var version = gzip && payload.version() != null ? payload.version() + "-gzip" : payload.version();
+                    var response = ConditionalResponses.ok(version)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+                    return gzip
+                            ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip())
+                            : response.body(payload.json());
+                });
+    }
+
+    // Binary formats skip the pre-encoded JSON payloads and are encoded by the registered codecs.
+    @GetMapping(value = "/{nameOfDeck}", produces = {MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<Deck>> getBinaryDeckByName(@PathVariable String nameOfDeck, ServerHttpRequest request) {
+        return cardService.getDeckByNameOfDeck(nameOfDeck)
+                .map(deck -> ConditionalResponses.ok(deck.getContentVersion(), request.getHeaders().getAccept()).body(deck));
+    }
+
+    @GetMapping(value = "/{nameOfDeck}", params = "view=summary")
+    public ResponseEntity<Mono<Deck>> getDeckSummaryByName(@PathVariable String nameOfDeck) {
+        return ResponseEntity.ok(cardService.getDeckSummaryByNameOfDeck(nameOfDeck));
     }
 
     @GetMapping("/{nameOfDeck}/{nameOfCard}")
@@ -40,11 +96,21 @@ public class DeckController {
         return ResponseEntity.ok(cardService.getCardFromDeckByName(nameOfDeck, nameOfCard));
     }
 
+    @PostMapping("/cards:lookup")
+    public ResponseEntity<Flux<CardLookupResultDTO>> lookupCards(@RequestBody List<CardLookupDTO> lookups) {
+        return ResponseEntity.ok(cardService.lookupCards(lookups));
+    }
+
     @GetMapping(value = "/{nameOfDeck}", params = "type")
     public ResponseEntity<Flux<Card>> getCardsOfTypeFromDeck(@PathVariable String nameOfDeck, @RequestParam("type") CardType type) {
         return ResponseEntity.ok(cardService.getCardsFromTypeInDeck(nameOfDeck, type));
     }
 
+    @GetMapping(value = "/{nameOfDeck}", params = "type", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<Flux<Card>> streamCardsOfTypeFromDeck(@PathVariable String nameOfDeck, @RequestParam("type") CardType type) {
+        return ResponseEntity.ok(cardService.streamCardsFromTypeInDeck(nameOfDeck, type));
+    }
+
     @GetMapping("/{deck}/enemies/{fight_statistic}")
     public ResponseEntity<Flux<Card>> getEnemiesFromDeckByFightStatistic(
             @PathVariable(name = "deck") String nameOfDeck,
@@ -52,6 +118,33 @@ public class DeckController {
         return ResponseEntity.ok(cardService.getEnemiesFromDeckByStatisticType(nameOfDeck, fightStatistic));
     }
 
+    @GetMapping(value = "/{deck}/enemies/{fight_statistic}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<Flux<Card>> streamEnemiesFromDeckByFightStatistic(
+            @PathVariable(name = "deck") String nameOfDeck,
+            @PathVariable(name = "fight_statistic") FightType fightStatistic) {
+        return ResponseEntity.ok(cardService.streamEnemiesFromDeckByStatisticType(nameOfDeck, fightStatistic));
+    }
+
+    @GetMapping("/{nameOfDeck}/draw")
+    public ResponseEntity<Flux<Card>> drawCardsFromDeck(
+            @PathVariable String nameOfDeck,
+            @RequestParam(name = "n", defaultValue = "1") int numberOfCards,
+            @RequestParam(name = "type", required = false) CardType type,
+            @RequestParam(name = "seed", required = false) Long seed) {
+        int boundedNumberOfCards = Math.max(1, Math.min(numberOfCards, MAX_DRAWN_CARDS));
+
+        return ResponseEntity.ok(cardService.drawCards(nameOfDeck, boundedNumberOfCards, type, seed));
+    }
+
+    @GetMapping("/{deck}/enemies")
+    public ResponseEntity<Flux<Card>> getEnemiesFromDeckByFightPower(
+            @PathVariable(name = "deck") String nameOfDeck,
+            @RequestParam(name = "minPower", required = false) Integer minPower,
+            @RequestParam(name = "maxPower", required = false) Integer maxPower,
+            @RequestParam(name = "statistic", required = false) FightType fightStatistic) {
+        return ResponseEntity.ok(cardService.getEnemiesFromDeckByFightPower(nameOfDeck, minPower, maxPower, fightStatistic));
+    }
+
     @ExceptionHandler(DeckNotFoundException.class)
     public ResponseEntity<Mono<ExceptionResponseDTO>> deckNotFoundExceptionResponse(DeckNotFoundException deckNotFoundException) {
 
@@ -62,8 +155,39 @@ public class DeckController {
 
     @ExceptionHandler(CardNotFoundException.class)
     public ResponseEntity<Mono<ExceptionResponseDTO>> cardNotFoundExceptionResponse(CardNotFoundException cardNotFoundException) {
+        var response = new ExceptionResponseDTO(HttpStatus.NOT_FOUND.value(), cardNotFoundException.getMessage());
+        response.setSuggestions(cardNotFoundException.getSuggestions());
+
         return ResponseEntity
                 .status(HttpStatus.NOT_FOUND)
-                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.NOT_FOUND.value(), cardNotFoundException.getMessage())));
+                .body(Mono.just(response));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> illegalArgumentExceptionResponse(IllegalArgumentException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.BAD_REQUEST.value(), exception.getMessage())));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+
+            if (!parts[0].trim().equalsIgnoreCase("gzip"))
+                continue;
+
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].trim().matches("q=0(\\.0{0,3})?"))
+                    return false;
+            }
+
+            return true;
+        }
+
+        return false;
     }
 }
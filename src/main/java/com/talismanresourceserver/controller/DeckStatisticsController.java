@@ -3,48 +3,114 @@ package com.talismanresourceserver.controller;
 import com.talismanresourceserver.dto.DeckEnemiesDTO;
 import com.talismanresourceserver.dto.DeckEnemiesStatsDTO;
 import com.talismanresourceserver.dto.DeckStatisticsDTO;
+import com.talismanresourceserver.dto.ExceptionResponseDTO;
+import com.talismanresourceserver.dto.FightOddsDTO;
+import com.talismanresourceserver.dto.SimulationResultDTO;
+import com.talismanresourceserver.exception.DeckNotFoundException;
+import com.talismanresourceserver.exception.SimulationRejectedException;
+import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.service.StatisticsService;
+import com.talismanresourceserver.statistics.SimulationQuery;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/statistics")
 @CrossOrigin
 @AllArgsConstructor
 public class DeckStatisticsController {
 
+    private static final long MAX_TRIALS = 50_000_000;
+    private static final long MAX_BUDGET_MILLIS = 10_000;
+
     private final StatisticsService statisticsService;
 
     @GetMapping("/unique")
-    public Mono<DeckStatisticsDTO> getUniqueStasts() {
-        return statisticsService.getUniqueStats();
+    public Mono<ResponseEntity<DeckStatisticsDTO>> getUniqueStasts(ServerHttpRequest request) {
+        return statisticsService.getUniqueStats()
+                .map(stats -> ConditionalResponses.ok(stats.version(), request.getHeaders().getAccept())
+                        .body(stats.statistics()));
     }
 
     @GetMapping("/unique/{nameOfDeck}")
-    public Mono<DeckStatisticsDTO> getUniqueStatsFromDeck(@PathVariable String nameOfDeck) {
-        return statisticsService.getUniqueStatsFromDeck(nameOfDeck);
+    public Mono<ResponseEntity<Mono<DeckStatisticsDTO>>> getUniqueStatsFromDeck(@PathVariable String nameOfDeck, ServerHttpRequest request) {
+        return ConditionalResponses.ok(statisticsService.getDeckVersion(nameOfDeck), request.getHeaders().getAccept(),
+                statisticsService.getUniqueStatsFromDeck(nameOfDeck));
     }
 
     @GetMapping("/all/{nameOfDeck}")
-    public Mono<DeckStatisticsDTO> getAllStatsFromDeck(@PathVariable String nameOfDeck) {
-        return statisticsService.getAllStatsFromDeck(nameOfDeck);
+    public Mono<ResponseEntity<Mono<DeckStatisticsDTO>>> getAllStatsFromDeck(@PathVariable String nameOfDeck, ServerHttpRequest request) {
+        return ConditionalResponses.ok(statisticsService.getDeckVersion(nameOfDeck), request.getHeaders().getAccept(),
+                statisticsService.getAllStatsFromDeck(nameOfDeck));
     }
 
     @GetMapping("/all")
-    public Mono<DeckStatisticsDTO> getAllStats() {
-        return statisticsService.getAllStats();
+    public Mono<ResponseEntity<DeckStatisticsDTO>> getAllStats(ServerHttpRequest request) {
+        return statisticsService.getAllStats()
+                .map(stats -> ConditionalResponses.ok(stats.version(), request.getHeaders().getAccept())
+                        .body(stats.statistics()));
     }
 
     @GetMapping("/all/{nameOfDeck}/enemies")
-    public Mono<DeckEnemiesStatsDTO> getAllEnemiesStats(@PathVariable String nameOfDeck) {
-        return statisticsService.getAllEnemiesFromDeck(nameOfDeck);
+    public Mono<ResponseEntity<Mono<DeckEnemiesStatsDTO>>> getAllEnemiesStats(@PathVariable String nameOfDeck, ServerHttpRequest request) {
+        return ConditionalResponses.ok(statisticsService.getDeckVersion(nameOfDeck), request.getHeaders().getAccept(),
+                statisticsService.getAllEnemiesFromDeck(nameOfDeck));
     }
 
     @GetMapping("/enemies/{deck}")
-    public ResponseEntity<Flux<DeckEnemiesDTO>> getAllEnemies(@PathVariable("deck") String nameOfDeck) {
-        return ResponseEntity.ok(statisticsService.getNumberOfEnemies(nameOfDeck));
+    public Mono<ResponseEntity<Flux<DeckEnemiesDTO>>> getAllEnemies(@PathVariable("deck") String nameOfDeck, ServerHttpRequest request) {
+        return ConditionalResponses.ok(statisticsService.getDeckVersion(nameOfDeck), request.getHeaders().getAccept(),
+                statisticsService.getNumberOfEnemies(nameOfDeck));
+    }
+
+    @GetMapping("/{deck}/fight-odds")
+    public Mono<ResponseEntity<Mono<FightOddsDTO>>> getFightOdds(
+            @PathVariable("deck") String nameOfDeck,
+            @RequestParam("strength") int strength,
+            @RequestParam("power") int power,
+            ServerHttpRequest request) {
+        return ConditionalResponses.ok(statisticsService.getDeckVersion(nameOfDeck), request.getHeaders().getAccept(),
+                statisticsService.getFightOdds(nameOfDeck, strength, power));
+    }
+
+    @GetMapping("/simulate")
+    public ResponseEntity<Mono<SimulationResultDTO>> simulate(
+            @RequestParam("deck") String nameOfDeck,
+            @RequestParam("draws") int draws,
+            @RequestParam(name = "minPower", required = false) Integer minPower,
+            @RequestParam(name = "type", required = false) CardType type,
+            @RequestParam(name = "trials", defaultValue = "1000000") long trials,
+            @RequestParam(name = "budgetMillis", defaultValue = "500") long budgetMillis) {
+        return ResponseEntity.ok(Mono.fromCallable(() -> new SimulationQuery(draws, minPower, type,
+                        Math.min(trials, MAX_TRIALS), Duration.ofMillis(Math.min(budgetMillis, MAX_BUDGET_MILLIS))))
+                .flatMap(query -> statisticsService.simulate(nameOfDeck, query)));
+    }
+
+    @ExceptionHandler(DeckNotFoundException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> deckNotFoundExceptionResponse(DeckNotFoundException deckNotFoundException) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.NOT_FOUND.value(), deckNotFoundException.getMessage())));
+    }
+
+    @ExceptionHandler(SimulationRejectedException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> simulationRejectedExceptionResponse(SimulationRejectedException simulationRejectedException) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.TOO_MANY_REQUESTS.value(), simulationRejectedException.getMessage())));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> illegalArgumentExceptionResponse(IllegalArgumentException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.BAD_REQUEST.value(), exception.getMessage())));
     }
 }
@@ -0,0 +1,73 @@
+package com.talismanresourceserver.controller;
+
+import com.talismanresourceserver.dto.CreateSessionDTO;
+import com.talismanresourceserver.dto.DeckSessionDTO;
+import com.talismanresourceserver.dto.ExceptionResponseDTO;
+import com.talismanresourceserver.exception.DeckNotFoundException;
+import com.talismanresourceserver.exception.SessionNotFoundException;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.service.SessionService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sessions")
+@CrossOrigin
+@AllArgsConstructor
+public class SessionController {
+
+    private static final int MAX_DRAWN_CARDS = 1000;
+
+    private final SessionService sessionService;
+
+    @PostMapping
+    public ResponseEntity<Mono<DeckSessionDTO>> createSession(@RequestBody CreateSessionDTO createSession) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(sessionService.createSession(createSession));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Mono<DeckSessionDTO>> getSession(@PathVariable String id) {
+        return ResponseEntity.ok(sessionService.getSession(id));
+    }
+
+    @PostMapping("/{id}/draw")
+    public ResponseEntity<Flux<Card>> drawCards(@PathVariable String id,
+                                                @RequestParam(name = "n", defaultValue = "1") int numberOfCards) {
+        return ResponseEntity.ok(sessionService.drawCards(id, Math.max(1, Math.min(numberOfCards, MAX_DRAWN_CARDS))));
+    }
+
+    @PostMapping("/{id}/discard")
+    public ResponseEntity<Mono<DeckSessionDTO>> discardCards(@PathVariable String id, @RequestBody List<String> namesOfCards) {
+        return ResponseEntity.ok(sessionService.discardCards(id, namesOfCards));
+    }
+
+    @PostMapping("/{id}/reshuffle")
+    public ResponseEntity<Mono<DeckSessionDTO>> reshuffle(@PathVariable String id) {
+        return ResponseEntity.ok(sessionService.reshuffle(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteSession(@PathVariable String id) {
+        return sessionService.deleteSession(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @ExceptionHandler({SessionNotFoundException.class, DeckNotFoundException.class})
+    public ResponseEntity<Mono<ExceptionResponseDTO>> notFoundExceptionResponse(Throwable exception) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.NOT_FOUND.value(), exception.getMessage())));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Mono<ExceptionResponseDTO>> illegalArgumentExceptionResponse(IllegalArgumentException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Mono.just(new ExceptionResponseDTO(HttpStatus.BAD_REQUEST.value(), exception.getMessage())));
+    }
+}
@@ -0,0 +1,67 @@
+package com.talismanresourceserver.draw;
+
+import java.util.ArrayDeque;
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker's alias method in Vose's formulation: after an O(n) setup every weighted sample costs one random index and
+ * one random double, independently of the number of outcomes.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(int[] weights) {
+        int size = weights.length;
+        long total = 0;
+
+        for (int weight : weights) {
+            if (weight < 0)
+                throw new IllegalArgumentException("Weights must not be negative");
+            total += weight;
+        }
+
+        if (size == 0 || total == 0)
+            throw new IllegalArgumentException("At least one weight must be positive");
+
+        probability = new double[size];
+        alias = new int[size];
+
+        double[] scaled = new double[size];
+        var small = new ArrayDeque<Integer>();
+        var large = new ArrayDeque<Integer>();
+
+        for (int i = 0; i < size; i++) {
+            scaled[i] = (double) weights[i] * size / total;
+            (scaled[i] < 1 ? small : large).push(i);
+        }
+
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            (scaled[more] < 1 ? small : large).push(more);
+        }
+
+        // Whatever is left is 1 up to rounding errors.
+        while (!large.isEmpty())
+            probability[large.pop()] = 1;
+        while (!small.isEmpty())
+            probability[small.pop()] = 1;
+    }
+
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
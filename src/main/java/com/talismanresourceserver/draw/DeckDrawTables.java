@@ -0,0 +1,98 @@
+package com.talismanresourceserver.draw;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.model.type.CardType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.random.RandomGenerator;
+
+/**
+ * Alias tables for drawing cards of a deck weighted by their number of copies, one for the whole deck and one per
+ * {@link CardType}. The tables of a deck are built on its first draw and kept until its content version changes.
+ */
+@Component
+public class DeckDrawTables {
+
+    private final Cache<String, DrawTables> tables;
+
+    public DeckDrawTables(CacheProperties cacheProperties) {
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Table over the cards of the given type, or over the whole deck when the type is {@code null}. Empty when no
+     * such card has a copy in the deck.
+     */
+    public Optional<DrawTable> tableFor(Deck deck, CardType type) {
+        var deckTables = deck.getContentVersion() == null
+                ? DrawTables.of(deck)
+                : tables.asMap().compute(deck.getNameOfDeck(), (name, cached) ->
+                        cached != null && Objects.equals(cached.version(), deck.getContentVersion()) ? cached : DrawTables.of(deck));
+
+        return Optional.ofNullable(type == null ? deckTables.all() : deckTables.byType().get(type));
+    }
+
+    public record DrawTable(Card[] cards, AliasTable aliasTable) {
+
+        static DrawTable of(List<Card> cards) {
+            var drawable = cards.stream().filter(card -> card.getNumber_of_copies() > 0).toArray(Card[]::new);
+
+            if (drawable.length == 0)
+                return null;
+
+            int[] weights = new int[drawable.length];
+
+            for (int i = 0; i < drawable.length; i++)
+                weights[i] = drawable[i].getNumber_of_copies();
+
+            return new DrawTable(drawable, new AliasTable(weights));
+        }
+
+        public Card draw(RandomGenerator random) {
+            return cards[aliasTable.sample(random)];
+        }
+
+        public List<Card> draw(int numberOfCards, RandomGenerator random) {
+            var drawn = new ArrayList<Card>(numberOfCards);
+
+            for (int i = 0; i < numberOfCards; i++)
+                drawn.add(draw(random));
+
+            return drawn;
+        }
+    }
+
+    private record DrawTables(String version, DrawTable all, Map<CardType, DrawTable> byType) {
+
+        static DrawTables of(Deck deck) {
+            var cards = deck.getCards() == null ? List.<Card>of() : deck.getCards();
+            var cardsByType = new EnumMap<CardType, List<Card>>(CardType.class);
+
+            cards.stream()
+                    .filter(card -> card.getType() != null)
+                    .forEach(card -> cardsByType.computeIfAbsent(card.getType(), type -> new ArrayList<>()).add(card));
+
+            var byType = new EnumMap<CardType, DrawTable>(CardType.class);
+            cardsByType.forEach((type, cardsOfType) -> {
+                var table = DrawTable.of(cardsOfType);
+
+                if (table != null)
+                    byType.put(type, table);
+            });
+
+            return new DrawTables(deck.getContentVersion(), DrawTable.of(cards), byType);
+        }
+    }
+}
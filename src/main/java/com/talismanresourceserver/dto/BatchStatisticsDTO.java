@@ -0,0 +1,14 @@
+package com.talismanresourceserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BatchStatisticsDTO {
+    private boolean enabled;
+    private long numberOfBatches;
+    private long numberOfLookups;
+    private double averageBatchSize;
+    private long maxBatchSize;
+}
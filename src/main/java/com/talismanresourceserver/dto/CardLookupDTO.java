@@ -0,0 +1,14 @@
+package com.talismanresourceserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardLookupDTO {
+
+    private String nameOfDeck;
+    private String nameOfCard;
+}
@@ -0,0 +1,25 @@
+package com.talismanresourceserver.dto;
+
+import com.talismanresourceserver.model.Card;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardLookupResultDTO {
+
+    private String nameOfDeck;
+    private String nameOfCard;
+    private boolean found;
+    private Card card;
+
+    public static CardLookupResultDTO found(String nameOfDeck, Card card) {
+        return new CardLookupResultDTO(nameOfDeck, card.getName(), true, card);
+    }
+
+    public static CardLookupResultDTO notFound(String nameOfDeck, String nameOfCard) {
+        return new CardLookupResultDTO(nameOfDeck, nameOfCard, false, null);
+    }
+}
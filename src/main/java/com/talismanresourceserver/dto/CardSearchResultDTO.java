@@ -0,0 +1,16 @@
+package com.talismanresourceserver.dto;
+
+import com.talismanresourceserver.model.Card;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardSearchResultDTO {
+
+    private String nameOfDeck;
+    private Card card;
+    private double score;
+}
@@ -0,0 +1,15 @@
+package com.talismanresourceserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeckIndexDTO {
+
+    private String nameOfDeck;
+    private int numberOfCards;
+    private int numberOfUniqueCards;
+}
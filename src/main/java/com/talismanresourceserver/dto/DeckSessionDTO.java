@@ -0,0 +1,17 @@
+package com.talismanresourceserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeckSessionDTO {
+
+    private String id;
+    private String nameOfDeck;
+    private int numberOfCardsInDrawPile;
+    private int numberOfCardsInHand;
+    private int numberOfCardsInDiscardPile;
+}
@@ -1,12 +1,18 @@
 package com.talismanresourceserver.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Data
 public final class ExceptionResponseDTO {
 
     private final int status;
     private final String message;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> suggestions;
 }
@@ -0,0 +1,17 @@
+package com.talismanresourceserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FightOddsDTO {
+    private String nameOfDeck;
+    private int strength;
+    private int power;
+    private double winProbability;
+    private double standOffProbability;
+    private double loseProbability;
+    private int numberOfEnemies;
+    private int numberOfEnemiesWithUnknownPower;
+}
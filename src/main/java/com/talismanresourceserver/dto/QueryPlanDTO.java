@@ -0,0 +1,15 @@
+package com.talismanresourceserver.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class QueryPlanDTO {
+
+    private String query;
+    private List<String> stages;
+    private boolean collectionScan;
+}
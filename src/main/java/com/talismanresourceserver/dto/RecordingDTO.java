@@ -0,0 +1,17 @@
+package com.talismanresourceserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class RecordingDTO {
+    private long id;
+    private String state;
+    private Instant startTime;
+    private long durationSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes;
+}
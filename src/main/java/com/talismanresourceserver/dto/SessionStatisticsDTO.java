@@ -0,0 +1,12 @@
+package com.talismanresourceserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SessionStatisticsDTO {
+    private long numberOfSessions;
+    private long estimatedMemoryBytes;
+    private long evictionCount;
+}
@@ -0,0 +1,19 @@
+package com.talismanresourceserver.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SimulationResultDTO {
+    private String nameOfDeck;
+    private String question;
+    private int draws;
+    private long trials;
+    private double estimate;
+    private double lowerBound;
+    private double upperBound;
+    private double confidenceLevel;
+    private boolean budgetExhausted;
+    private long elapsedMillis;
+}
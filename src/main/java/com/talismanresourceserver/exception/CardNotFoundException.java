@@ -1,7 +1,25 @@
 package com.talismanresourceserver.exception;
 
-public class CardNotFoundException extends Throwable{
+import java.util.List;
+
+public class CardNotFoundException extends StacklessException {
+
+    private final List<String> suggestions;
+
     public CardNotFoundException(String message) {
+        this(message, List.of());
+    }
+
+    public CardNotFoundException(String message, List<String> suggestions) {
         super(message);
+        this.suggestions = suggestions;
+    }
+
+    public static CardNotFoundException forCard(String nameOfDeck, String nameOfCard, List<String> suggestions) {
+        return new CardNotFoundException("Card: " + nameOfCard + " in deck: " + nameOfDeck + " not found!", suggestions);
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
     }
 }
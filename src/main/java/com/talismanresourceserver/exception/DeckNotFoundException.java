@@ -1,8 +1,12 @@
 package com.talismanresourceserver.exception;
 
-public class DeckNotFoundException extends Throwable{
+public class DeckNotFoundException extends StacklessException {
     
     public DeckNotFoundException(String message) {
         super(message);
     }
+
+    public static DeckNotFoundException forDeck(String nameOfDeck) {
+        return new DeckNotFoundException("Deck: " + nameOfDeck + " not found!");
+    }
 }
@@ -0,0 +1,11 @@
+package com.talismanresourceserver.exception;
+
+/**
+ * Thrown when a flight recording is started while another one is running, or stopped while none is.
+ */
+public class RecordingConflictException extends IllegalStateException {
+
+    public RecordingConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.talismanresourceserver.exception;
+
+/**
+ * Thrown when a flight recording is downloaded before any recording was started.
+ */
+public class RecordingNotFoundException extends IllegalStateException {
+
+    public RecordingNotFoundException(String message) {
+        super(message);
+    }
+}
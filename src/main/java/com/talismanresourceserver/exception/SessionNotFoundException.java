@@ -0,0 +1,12 @@
+package com.talismanresourceserver.exception;
+
+public class SessionNotFoundException extends StacklessException {
+
+    public SessionNotFoundException(String message) {
+        super(message);
+    }
+
+    public static SessionNotFoundException forSession(String id) {
+        return new SessionNotFoundException("Session: " + id + " not found!");
+    }
+}
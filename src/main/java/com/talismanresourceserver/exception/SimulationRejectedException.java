@@ -0,0 +1,13 @@
+package com.talismanresourceserver.exception;
+
+public class SimulationRejectedException extends StacklessException {
+
+    public SimulationRejectedException(String message) {
+        super(message);
+    }
+
+    public static SimulationRejectedException forDeck(String nameOfDeck, int maxConcurrentSimulations) {
+        return new SimulationRejectedException("Simulation for deck: " + nameOfDeck + " rejected, "
+                + maxConcurrentSimulations + " simulations are already running!");
+    }
+}
@@ -0,0 +1,12 @@
+package com.talismanresourceserver.exception;
+
+/**
+ * Base of the exceptions signalling an expected outcome, such as a miss, that is answered with an error response.
+ * They are created without a stack trace, which would be the most expensive part of them and is never looked at.
+ */
+public abstract class StacklessException extends Throwable {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
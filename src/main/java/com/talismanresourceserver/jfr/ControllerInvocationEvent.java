@@ -0,0 +1,32 @@
+package com.talismanresourceserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.talismanresourceserver.ControllerInvocation")
+@Label("Controller Invocation")
+@Category({"Talisman", "Web"})
+@Description("Handling of a request, from the first web filter until the response is written")
+@StackTrace(false)
+public class ControllerInvocationEvent extends Event {
+
+    @Label("Handler")
+    String handler;
+
+    @Label("HTTP Method")
+    String method;
+
+    @Label("Route")
+    String route;
+
+    @Label("Status")
+    int status;
+
+    @Label("Signal")
+    @Description("Signal that terminated the request: onComplete, onError or cancel")
+    String signal;
+}
@@ -0,0 +1,55 @@
+package com.talismanresourceserver.jfr;
+
+import jdk.jfr.EventType;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Records a {@link ControllerInvocationEvent} for every request while a recording has the event enabled. It runs
+ * right inside {@link com.talismanresourceserver.metrics.RouteMetricsFilter}, so the request timers include it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ControllerInvocationEventFilter implements WebFilter {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(ControllerInvocationEvent.class);
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!EVENT_TYPE.isEnabled())
+            return chain.filter(exchange);
+
+        var event = new ControllerInvocationEvent();
+        event.begin();
+
+        return chain.filter(exchange).doFinally(signal -> commit(event, exchange, signal));
+    }
+
+    private static void commit(ControllerInvocationEvent event, ServerWebExchange exchange, SignalType signal) {
+        event.end();
+
+        if (!event.shouldCommit())
+            return;
+
+        Object handler = exchange.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+
+        event.handler = handler instanceof HandlerMethod handlerMethod ? handlerMethod.getShortLogMessage() : null;
+        event.method = exchange.getRequest().getMethod().name();
+        event.route = pattern != null ? pattern.getPatternString() : exchange.getRequest().getPath().value();
+        event.status = status != null ? status.value() : 0;
+        event.signal = signal.toString();
+        event.commit();
+    }
+}
@@ -0,0 +1,139 @@
+package com.talismanresourceserver.jfr;
+
+import com.talismanresourceserver.dto.RecordingDTO;
+import com.talismanresourceserver.exception.RecordingConflictException;
+import com.talismanresourceserver.exception.RecordingNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Flight recordings started on demand. Only one recording exists at a time and it is always bounded by its duration
+ * and size, so a forgotten recording cannot fill the disk. The last recording is kept after it stops, until the next
+ * one starts, so it can still be downloaded.
+ */
+@Component
+@Slf4j
+public class FlightRecordings implements DisposableBean {
+
+    private static final String RECORDING_NAME = "talisman";
+    private static final String CONFIGURATION_NAME = "profile";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Events of the stock configuration that capture the process environment and system properties, which hold the
+     * database credentials and must not end up in a downloadable file.
+     */
+    private static final String[] SENSITIVE_EVENTS = {"jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty"};
+
+    private Recording recording;
+
+    public synchronized RecordingDTO start(Duration duration, long maxSizeBytes) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING)
+            throw new RecordingConflictException("Recording " + recording.getId() + " is already running");
+
+        if (recording != null)
+            recording.close();
+
+        recording = new Recording(profileConfiguration());
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(maxSizeBytes);
+        recording.enable(ControllerInvocationEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        recording.enable(StatisticsComputationEvent.class);
+        for (var event : SENSITIVE_EVENTS)
+            recording.disable(event);
+        recording.start();
+
+        log.info("Started flight recording {} for {}", recording.getId(), duration);
+
+        return toDTO(recording);
+    }
+
+    public synchronized RecordingDTO stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING)
+            throw new RecordingConflictException("No recording is running");
+
+        recording.stop();
+
+        return toDTO(recording);
+    }
+
+    public synchronized Optional<RecordingDTO> status() {
+        return Optional.ofNullable(recording).map(FlightRecordings::toDTO);
+    }
+
+    /**
+     * Contents of the current recording as a {@code .jfr} file. The recording is dumped to a temporary file, which is
+     * deleted once streamed.
+     */
+    public Mono<Flux<DataBuffer>> download() {
+        return Mono.fromCallable(this::dump)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(file -> DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE)
+                        .doFinally(signal -> delete(file)));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null)
+            recording.close();
+    }
+
+    private synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.CLOSED)
+            throw new RecordingNotFoundException("No recording to download");
+
+        var file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        recording.dump(file);
+
+        return file;
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete recording file {}", file, e);
+        }
+    }
+
+    private static Configuration profileConfiguration() {
+        try {
+            return Configuration.getConfiguration(CONFIGURATION_NAME);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not parse the " + CONFIGURATION_NAME + " recording configuration", e);
+        }
+    }
+
+    private static RecordingDTO toDTO(Recording recording) {
+        return RecordingDTO.builder()
+                .id(recording.getId())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .durationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : 0)
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.talismanresourceserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.talismanresourceserver.RepositoryCall")
+@Label("Repository Call")
+@Category({"Talisman", "Repository"})
+@Description("Call of a DeckRepository method, from subscription to termination of the returned publisher")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Deck")
+    String nameOfDeck;
+
+    @Label("Elements")
+    @Description("Number of elements emitted by the returned publisher")
+    long elements;
+
+    @Label("Signal")
+    @Description("Signal that terminated the call: onComplete, onError or cancel")
+    String signal;
+}
@@ -0,0 +1,92 @@
+package com.talismanresourceserver.jfr;
+
+import com.talismanresourceserver.repository.DeckRepository;
+import jdk.jfr.EventType;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Wraps {@link DeckRepository} in a proxy recording a {@link RepositoryCallEvent} for every call. The queries are
+ * lazy, so the event spans from subscription to termination of the returned publisher rather than the method call.
+ * While no recording has the event enabled, the publisher of the repository is returned as it is.
+ */
+@Component
+public class RepositoryEventsPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DeckRepository))
+            return bean;
+
+        var proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.setInterfaces(DeckRepository.class);
+        proxyFactory.addAdvice(new RepositoryCallInterceptor());
+
+        return proxyFactory.getProxy();
+    }
+
+    private static final class RepositoryCallInterceptor implements MethodInterceptor {
+
+        private static final EventType EVENT_TYPE = EventType.getEventType(RepositoryCallEvent.class);
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+
+            if (!EVENT_TYPE.isEnabled())
+                return result;
+
+            if (result instanceof Mono<?> mono)
+                return Mono.defer(() -> record(mono, invocation));
+
+            if (result instanceof Flux<?> flux)
+                return Flux.defer(() -> record(flux, invocation));
+
+            return result;
+        }
+
+        private static <T> Mono<T> record(Mono<T> mono, MethodInvocation invocation) {
+            var event = begin();
+
+            return mono.doOnNext(ignored -> event.elements++)
+                    .doFinally(signal -> commit(event, invocation, signal));
+        }
+
+        private static <T> Flux<T> record(Flux<T> flux, MethodInvocation invocation) {
+            var event = begin();
+
+            return flux.doOnNext(ignored -> event.elements++)
+                    .doFinally(signal -> commit(event, invocation, signal));
+        }
+
+        private static RepositoryCallEvent begin() {
+            var event = new RepositoryCallEvent();
+            event.begin();
+
+            return event;
+        }
+
+        private static void commit(RepositoryCallEvent event, MethodInvocation invocation, SignalType signal) {
+            event.end();
+
+            if (!event.shouldCommit())
+                return;
+
+            event.method = invocation.getMethod().getName();
+            event.signal = signal.toString();
+
+            // Every query of the repository takes the name of the deck as its first argument.
+            if (invocation.getArguments().length > 0 && invocation.getArguments()[0] instanceof String nameOfDeck)
+                event.nameOfDeck = nameOfDeck;
+
+            event.commit();
+        }
+    }
+}
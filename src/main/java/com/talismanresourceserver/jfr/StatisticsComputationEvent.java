@@ -0,0 +1,80 @@
+package com.talismanresourceserver.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+@Name("com.talismanresourceserver.StatisticsComputation")
+@Label("Statistics Computation")
+@Category({"Talisman", "Statistics"})
+@Description("Computation of statistics by StatisticsService")
+@StackTrace(false)
+public class StatisticsComputationEvent extends Event {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(StatisticsComputationEvent.class);
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Deck")
+    @Description("Name of the deck, empty for statistics of the whole catalog")
+    String nameOfDeck;
+
+    @Label("Number of Cards")
+    int numberOfCards;
+
+    /**
+     * Records a computation done on the calling thread.
+     */
+    public static <T> T record(String operation, String nameOfDeck, int numberOfCards, Supplier<T> computation) {
+        if (!EVENT_TYPE.isEnabled())
+            return computation.get();
+
+        var event = new StatisticsComputationEvent();
+        event.begin();
+
+        T result = computation.get();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.nameOfDeck = nameOfDeck;
+            event.numberOfCards = numberOfCards;
+            event.commit();
+        }
+
+        return result;
+    }
+
+    /**
+     * Records a computation from subscription to its result, with the number of cards taken from the result.
+     */
+    public static <T> Mono<T> record(String operation, String nameOfDeck, Mono<T> computation,
+                                     ToIntFunction<? super T> numberOfCards) {
+        return Mono.defer(() -> {
+            if (!EVENT_TYPE.isEnabled())
+                return computation;
+
+            var event = new StatisticsComputationEvent();
+            event.begin();
+
+            return computation.doOnNext(result -> {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.nameOfDeck = nameOfDeck;
+                    event.numberOfCards = numberOfCards.applyAsInt(result);
+                    event.commit();
+                }
+            });
+        });
+    }
+}
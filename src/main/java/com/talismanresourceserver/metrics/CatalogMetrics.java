@@ -0,0 +1,48 @@
+package com.talismanresourceserver.metrics;
+
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.session.DeckSessionStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the statistics of the deck cache and the deck sessions, which are otherwise only reported by the admin
+ * endpoints. Values are read when the registry is scraped, so nothing is recorded on the request path.
+ */
+@Component
+@AllArgsConstructor
+public class CatalogMetrics implements MeterBinder {
+
+    private final DeckCache deckCache;
+    private final DeckSessionStore deckSessionStore;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("talisman.cache.size", deckCache, cache -> cache.statistics().getSize())
+                .description("Number of decks in the cache")
+                .register(registry);
+        FunctionCounter.builder("talisman.cache.requests", deckCache, cache -> cache.statistics().getHitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("talisman.cache.requests", deckCache, cache -> cache.statistics().getMissCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("talisman.cache.evictions", deckCache, cache -> cache.statistics().getEvictionCount())
+                .register(registry);
+
+        Gauge.builder("talisman.sessions.active", deckSessionStore, store -> store.statistics().getNumberOfSessions())
+                .description("Number of deck sessions kept in memory")
+                .register(registry);
+        Gauge.builder("talisman.sessions.memory", deckSessionStore, store -> store.statistics().getEstimatedMemoryBytes())
+                .baseUnit(BaseUnits.BYTES)
+                .description("Estimated memory held by the deck sessions")
+                .register(registry);
+        FunctionCounter.builder("talisman.sessions.evictions", deckSessionStore, store -> store.statistics().getEvictionCount())
+                .register(registry);
+    }
+}
@@ -0,0 +1,118 @@
+package com.talismanresourceserver.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request under {@value #METRIC_NAME}, tagged with the route pattern of the handler, the HTTP method and
+ * the outcome. Timers are created once per handler and outcome and looked up by the resolved handler afterwards, so
+ * recording a request allocates neither tags nor meter ids.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RouteMetricsFilter implements WebFilter {
+
+    public static final String METRIC_NAME = "http.server.requests";
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final String OTHER_METHOD = "OTHER";
+    private static final Set<HttpMethod> STANDARD_METHODS = Set.of(HttpMethod.values());
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry meterRegistry;
+
+    // Keyed by the handler method, or by the method tag for requests no handler was resolved for. Clients can send any
+    // method token, so methods outside the standard ones share the OTHER tag to keep the number of series bounded.
+    private final Map<Object, RouteTimers> routes = new ConcurrentHashMap<>();
+
+    public RouteMetricsFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Slice tests run without the metrics auto-configuration.
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+
+        return chain.filter(exchange)
+                .doOnSuccess(ignored -> record(exchange, start, outcome(exchange.getResponse().getStatusCode())))
+                .doOnError(error -> record(exchange, start, error instanceof ResponseStatusException exception
+                        ? Outcome.forStatus(exception.getStatusCode().value())
+                        : Outcome.SERVER_ERROR))
+                .doOnCancel(() -> record(exchange, start, Outcome.UNKNOWN));
+    }
+
+    private void record(ServerWebExchange exchange, long start, Outcome outcome) {
+        Object handler = exchange.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        String method = methodTag(exchange.getRequest().getMethod());
+        Object key = handler instanceof HandlerMethod ? handler : method;
+
+        var timers = routes.get(key);
+        if (timers == null)
+            timers = routes.computeIfAbsent(key, ignored -> new RouteTimers(method, route(exchange)));
+
+        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String route(ServerWebExchange exchange) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern != null ? pattern.getPatternString() : UNKNOWN_ROUTE;
+    }
+
+    private static String methodTag(HttpMethod method) {
+        return STANDARD_METHODS.contains(method) ? method.name() : OTHER_METHOD;
+    }
+
+    private static Outcome outcome(HttpStatusCode status) {
+        return status != null ? Outcome.forStatus(status.value()) : Outcome.SUCCESS;
+    }
+
+    private final class RouteTimers {
+
+        private final Tags tags;
+        private final Timer[] timers = new Timer[OUTCOMES.length];
+
+        private RouteTimers(String method, String route) {
+            this.tags = Tags.of("method", method, "uri", route);
+        }
+
+        // Racing threads register the same meter, so the registry hands both of them the same timer.
+        private Timer get(Outcome outcome) {
+            Timer timer = timers[outcome.ordinal()];
+
+            if (timer == null) {
+                timer = Timer.builder(METRIC_NAME)
+                        .tags(tags)
+                        .tag("outcome", outcome.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry);
+                timers[outcome.ordinal()] = timer;
+            }
+
+            return timer;
+        }
+    }
+}
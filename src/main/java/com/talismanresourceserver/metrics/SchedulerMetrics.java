@@ -0,0 +1,92 @@
+package com.talismanresourceserver.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Instruments the Reactor {@link Schedulers}, keeping the number of meters bounded for the lifetime of the application.
+ * <p>
+ * Schedulers with a fixed set of executors, such as {@code parallel}, get {@link ExecutorServiceMetrics} per executor,
+ * named by the scheduler and a worker index that stays the same when an executor is replaced. Bounded elastic
+ * schedulers create and evict their executors on demand, so they are measured as a whole instead: the number of
+ * workers and the tasks waiting in them. Only schedulers created after binding are instrumented, which includes the
+ * shared ones as they are created on first use.
+ */
+@Component
+public class SchedulerMetrics implements MeterBinder, DisposableBean {
+
+    private static final String DECORATOR_KEY = "talisman-metrics";
+    private static final String METRIC_PREFIX = "reactor";
+    private static final String BOUNDED_ELASTIC = "boundedElastic";
+
+    private final Map<String, Integer> createdExecutors = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> boundedElasticSchedulers = new ConcurrentHashMap<>();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Schedulers.addExecutorServiceDecorator(DECORATOR_KEY, (scheduler, executor) -> decorate(registry, scheduler, executor));
+    }
+
+    @Override
+    public void destroy() {
+        Schedulers.removeExecutorServiceDecorator(DECORATOR_KEY);
+    }
+
+    private ScheduledExecutorService decorate(MeterRegistry registry, Scheduler scheduler, ScheduledExecutorService executor) {
+        String name = Scannable.from(scheduler).scanOrDefault(Scannable.Attr.NAME, scheduler.getClass().getName());
+
+        if (name.startsWith(BOUNDED_ELASTIC)) {
+            boundedElasticSchedulers.computeIfAbsent(name, key -> bindBoundedElastic(registry, scheduler, key));
+            return executor;
+        }
+
+        int created = createdExecutors.merge(name, 1, Integer::sum) - 1;
+        int capacity = Scannable.from(scheduler).scanOrDefault(Scannable.Attr.CAPACITY, 0);
+        String executorName = name + "-" + (capacity > 0 ? created % capacity : created);
+
+        // A restarted scheduler replaces its executors, whose meters would otherwise keep pointing at the old ones.
+        registry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(METRIC_PREFIX + ".executor"))
+                .filter(meter -> executorName.equals(meter.getId().getTag("name")))
+                .map(Meter::getId)
+                .toList()
+                .forEach(registry::remove);
+
+        return ExecutorServiceMetrics.monitor(registry, executor, executorName, METRIC_PREFIX);
+    }
+
+    private static Boolean bindBoundedElastic(MeterRegistry registry, Scheduler scheduler, String name) {
+        Gauge.builder(METRIC_PREFIX + ".scheduler.workers", scheduler, SchedulerMetrics::workers)
+                .tag("scheduler", name)
+                .description("Number of workers of a bounded elastic scheduler")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".scheduler.tasks.pending", scheduler, SchedulerMetrics::pendingTasks)
+                .tag("scheduler", name)
+                .description("Number of tasks waiting in the workers of a bounded elastic scheduler")
+                .register(registry);
+
+        return Boolean.TRUE;
+    }
+
+    private static double workers(Scheduler scheduler) {
+        return Scannable.from(scheduler).inners().count();
+    }
+
+    private static double pendingTasks(Scheduler scheduler) {
+        return Scannable.from(scheduler).inners()
+                .mapToInt(worker -> worker.scanOrDefault(Scannable.Attr.BUFFERED, 0))
+                .sum();
+    }
+}
@@ -0,0 +1,64 @@
+package com.talismanresourceserver.migration;
+
+import com.talismanresourceserver.config.IndexProperties;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.repository.QueryPlanVerifier;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates the indexes declared on {@link Deck} and reports repository queries which would still scan the whole
+ * collection. Runs before {@link DeckMigration}, so that the migration already benefits from the indexes.
+ */
+@Component
+@Order(0)
+@AllArgsConstructor
+@Slf4j
+public class DeckIndexInitializer implements ApplicationRunner {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final QueryPlanVerifier queryPlanVerifier;
+    private final IndexProperties indexProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Mono<Void> indexes = indexProperties.isCreateOnStartup() ? createIndexes() : Mono.empty();
+        Mono<Void> verification = indexProperties.isVerifyQueryPlans() ? verifyQueryPlans() : Mono.empty();
+
+        indexes.then(verification)
+                .onErrorResume(e -> {
+                    log.warn("Index initialization failed", e);
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    private Mono<Void> createIndexes() {
+        var resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        var indexOperations = mongoTemplate.indexOps(Deck.class);
+
+        return Flux.fromIterable(resolver.resolveIndexFor(Deck.class))
+                .concatMap(indexOperations::ensureIndex)
+                .doOnNext(index -> log.info("Ensured index {}", index))
+                .then();
+    }
+
+    private Mono<Void> verifyQueryPlans() {
+        return queryPlanVerifier.verify()
+                .doOnNext(plan -> {
+                    if (plan.isCollectionScan())
+                        log.warn("Query {} performs a collection scan: {}", plan.getQuery(), plan.getStages());
+                    else
+                        log.debug("Query {} uses plan {}", plan.getQuery(), plan.getStages());
+                })
+                .then();
+    }
+}
@@ -0,0 +1,45 @@
+package com.talismanresourceserver.migration;
+
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.repository.DeckRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Re-saves decks imported without the derived fields (numeric fight power, content version), so that
+ * {@link com.talismanresourceserver.repository.DeckBeforeConvertCallback} can populate them. Decks that are already up to date are left untouched.
+ */
+@Component
+@Order(1)
+@AllArgsConstructor
+@Slf4j
+public class DeckMigration implements ApplicationRunner {
+
+    private final DeckRepository deckRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        deckRepository.findAll()
+                .filter(this::requiresMigration)
+                .flatMap(deckRepository::save)
+                .count()
+                .doOnNext(count -> log.info("Migrated {} decks", count))
+                .onErrorResume(e -> {
+                    log.warn("Deck migration failed", e);
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    private boolean requiresMigration(Deck deck) {
+        return deck.getContentVersion() == null || deck.getCards() != null && deck.getCards().stream()
+                .anyMatch(card -> card.getFight_power() != null
+                        && card.getFight_power_value() == null
+                        && !card.isUnknown_fight_power());
+    }
+}
@@ -1,5 +1,6 @@
 package com.talismanresourceserver.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import lombok.AllArgsConstructor;
@@ -21,8 +22,29 @@ public class Card {
     private FightType fight_statistic;
     private String fight_power;
 
+    private Integer fight_power_value;
+    private boolean unknown_fight_power;
+
     private int meeting_number;
     private int number_of_copies;
 
+    // Left out when absent, as in the summary view, rather than sent as null.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
+
+    public void resolveFightPower() {
+        fight_power_value = parseFightPower(fight_power);
+        unknown_fight_power = fight_power != null && fight_power_value == null;
+    }
+
+    public static Integer parseFightPower(String fightPower) {
+        if (fightPower == null || fightPower.isBlank())
+            return null;
+
+        try {
+            return Integer.valueOf(fightPower.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
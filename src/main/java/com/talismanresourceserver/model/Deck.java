@@ -4,12 +4,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.List;
 
 @Document(collection = "cards")
+@CompoundIndexes({
+        @CompoundIndex(name = "name_of_deck_fight_power", def = "{'name_of_deck': 1, 'cards.fight_power_value': 1}"),
+        @CompoundIndex(name = "cards_name", def = "{'cards.name': 1}"),
+        @CompoundIndex(name = "cards_type_fight_statistic", def = "{'cards.type': 1, 'cards.fight_statistic': 1}")
+})
 @Data
 @AllArgsConstructor
 @Builder
@@ -18,8 +26,12 @@ public class Deck {
     @Id
     private String id;
 
+    @Indexed(name = "name_of_deck", unique = true)
     @Field(name = "name_of_deck")
     private String nameOfDeck;
 
     private List<Card> cards;
+
+    @Field(name = "content_version")
+    private String contentVersion;
 }
@@ -0,0 +1,50 @@
+package com.talismanresourceserver.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.ContentVersion;
+import com.talismanresourceserver.model.Deck;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Keeps the fields derived from the card data up to date whenever a deck is written.
+ */
+@Component
+public class DeckBeforeConvertCallback implements ReactiveBeforeConvertCallback<Deck> {
+
+    private static final ObjectWriter CARDS_WRITER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build()
+            .writerFor(new TypeReference<List<Card>>() {});
+
+    @Override
+    public Publisher<Deck> onBeforeConvert(Deck deck, String collection) {
+        if (deck.getCards() != null)
+            deck.getCards().forEach(Card::resolveFightPower);
+
+        deck.setContentVersion(computeContentVersion(deck));
+
+        return Mono.just(deck);
+    }
+
+    // The cards are written as JSON with sorted properties, which covers every card field in an order that does not
+    // depend on how the class is declared or printed.
+    public static String computeContentVersion(Deck deck) {
+        try {
+            return ContentVersion.of(List.of(String.valueOf(deck.getNameOfDeck()), CARDS_WRITER.writeValueAsString(deck.getCards())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
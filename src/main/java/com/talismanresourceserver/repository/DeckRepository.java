@@ -1,22 +1,51 @@
 package com.talismanresourceserver.repository;
 
+import com.talismanresourceserver.dto.DeckIndexDTO;
+import com.talismanresourceserver.model.Card;
 import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface DeckRepository extends ReactiveMongoRepository<Deck, String> {
 
     Mono<Deck> findDeckByNameOfDeck(String nameOfDeck);
 
+    @Query(value = "{}", fields = "{'cards.description' : 0}")
+    Flux<Deck> findAllSummaries();
+
+    @Query(value = "{'name_of_deck' : ?0}", fields = "{'cards.description' : 0}")
+    Mono<Deck> findDeckSummaryByNameOfDeck(String nameOfDeck);
+
+    @Aggregation(
+            pipeline = {
+                    "{$project : {_id : 0, nameOfDeck : '$name_of_deck',"
+                            + " numberOfCards : {$sum : '$cards.number_of_copies'},"
+                            + " numberOfUniqueCards : {$size : {$ifNull : ['$cards', []]}}}}"
+            })
+    Flux<DeckIndexDTO> findDeckIndex();
+
     @Query(
             value = "{$and: [{'name_of_deck': ?0},{'cards.name': {$in: [?1]}}]}",
             fields = "{'cards.$': 1}")
     Mono<Deck> findCardInDeck(String deck, String name);
 
+    @Aggregation(
+            pipeline = {
+                    "{$match : {name_of_deck : ?0, 'cards.name' : {$in : ?1}}}",
+                    "{$project : {cards : {$filter : {input : '$cards', as : 'cards', cond : {$in : ['$$cards.name', ?1]}}},"
+                            + " name_of_deck : 1 }}"
+            })
+    Mono<Deck> findCardsInDeck(String deck, Collection<String> names);
+
     @Aggregation(
             pipeline = {
                     "{$match : {name_of_deck:?0}}",
@@ -33,4 +62,35 @@ public interface DeckRepository extends ReactiveMongoRepository<Deck, String> {
                             + " name_of_deck: 1 }}"
             })
     Mono<Deck> findEnemiesInDeckByStatistic(String deck, FightType fight_statistic);
+
+    @Meta(cursorBatchSize = 64)
+    @Aggregation(
+            pipeline = {
+                    "{$match : {name_of_deck : ?0}}",
+                    "{$unwind : '$cards'}",
+                    "{$match : {'cards.type' : ?1}}",
+                    "{$replaceRoot : {newRoot : '$cards'}}"
+            })
+    Flux<Card> streamCardsOfTypeInDeck(String deck, CardType type);
+
+    @Meta(cursorBatchSize = 64)
+    @Aggregation(
+            pipeline = {
+                    "{$match : {name_of_deck : ?0}}",
+                    "{$unwind : '$cards'}",
+                    "{$match : {'cards.fight_statistic' : ?1}}",
+                    "{$replaceRoot : {newRoot : '$cards'}}"
+            })
+    Flux<Card> streamEnemiesInDeckByStatistic(String deck, FightType fight_statistic);
+
+    @Aggregation(
+            pipeline = {
+                    "{$match : {name_of_deck : ?0, cards : {$elemMatch : {type : 'WRÓG', fight_statistic : {$in : ?3},"
+                            + " fight_power_value : {$gte : ?1, $lte : ?2}}}}}",
+                    "{$project : {cards : {$filter : {input : '$cards', as : 'cards', cond : {$and : ["
+                            + "{$eq : ['$$cards.type', 'WRÓG']}, {$in : ['$$cards.fight_statistic', ?3]},"
+                            + " {$gte : ['$$cards.fight_power_value', ?1]}, {$lte : ['$$cards.fight_power_value', ?2]}]}}},"
+                            + " name_of_deck : 1 }}"
+            })
+    Mono<Deck> findEnemiesInDeckByFightPower(String deck, int minPower, int maxPower, List<FightType> fightStatistics);
 }
@@ -0,0 +1,141 @@
+package com.talismanresourceserver.repository;
+
+import com.talismanresourceserver.dto.QueryPlanDTO;
+import com.talismanresourceserver.model.Deck;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.util.json.ParameterBindingContext;
+import org.springframework.data.mongodb.util.json.ParameterBindingDocumentCodec;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Runs {@code explain} for the queries of {@link DeckRepository} and reports the stages of the winning plans,
+ * so that a missing index shows up as a collection scan instead of as slow requests.
+ * <p>
+ * The filters and pipelines are read from the {@link Query} and {@link Aggregation} annotations of the repository
+ * and bound to sample arguments the way the repository binds the real ones, so what is explained is always what
+ * runs. Queries without parameters read every deck, so they are left out.
+ */
+@Component
+@AllArgsConstructor
+public class QueryPlanVerifier {
+
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+    private static final String SAMPLE_DECK = "sample-deck";
+    private static final String SAMPLE_CARD = "sample-card";
+
+    private static final ParameterBindingDocumentCodec CODEC = new ParameterBindingDocumentCodec();
+    private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public Flux<QueryPlanDTO> verify() {
+        return Flux.concat(
+                        // Derived from the method name, so there is no annotation to read it from.
+                        explainFind(new Document("name_of_deck", SAMPLE_DECK), null)
+                                .map(result -> createQueryPlan("findDeckByNameOfDeck", result)),
+                        Flux.fromIterable(annotatedQueries())
+                                .concatMap(method -> explain(method).map(result -> createQueryPlan(method.getName(), result))));
+    }
+
+    private static List<Method> annotatedQueries() {
+        return Arrays.stream(DeckRepository.class.getDeclaredMethods())
+                .filter(method -> method.getParameterCount() > 0)
+                .filter(method -> method.isAnnotationPresent(Query.class) || method.isAnnotationPresent(Aggregation.class))
+                .sorted(Comparator.comparing(Method::getName))
+                .toList();
+    }
+
+    private Mono<Document> explain(Method method) {
+        var bindingContext = sampleBindingContext(method);
+        var aggregation = method.getAnnotation(Aggregation.class);
+
+        if (aggregation != null)
+            return explainAggregation(Arrays.stream(aggregation.pipeline())
+                    .map(stage -> CODEC.decode(stage, bindingContext))
+                    .toList());
+
+        var query = method.getAnnotation(Query.class);
+        var fields = query.fields().isEmpty() ? null : CODEC.decode(query.fields(), bindingContext);
+
+        return explainFind(CODEC.decode(query.value(), bindingContext), fields);
+    }
+
+    private static ParameterBindingContext sampleBindingContext(Method method) {
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++)
+            arguments[i] = sampleArgument(parameters[i], i);
+
+        return new ParameterBindingContext(index -> arguments[index], EXPRESSION_PARSER, StandardEvaluationContext::new);
+    }
+
+    // Every query takes the name of the deck first. Enums are bound by name, as the repository converts them.
+    private static Object sampleArgument(Parameter parameter, int index) {
+        if (Collection.class.isAssignableFrom(parameter.getType())
+                && parameter.getParameterizedType() instanceof ParameterizedType collectionType
+                && collectionType.getActualTypeArguments()[0] instanceof Class<?> elementType)
+            return List.of(sampleValue(elementType, false));
+
+        return sampleValue(parameter.getType(), index == 0);
+    }
+
+    private static Object sampleValue(Class<?> type, boolean nameOfDeck) {
+        if (type == String.class)
+            return nameOfDeck ? SAMPLE_DECK : SAMPLE_CARD;
+        if (type.isEnum())
+            return ((Enum<?>) type.getEnumConstants()[0]).name();
+        if (type == int.class || type == Integer.class)
+            return 0;
+
+        throw new IllegalStateException("No sample argument of type " + type.getName());
+    }
+
+    private Mono<Document> explainFind(Document filter, Document fields) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Deck.class))
+                .flatMap(collection -> Mono.from(collection.find(filter).projection(fields).explain(Document.class)));
+    }
+
+    private Mono<Document> explainAggregation(List<Document> pipeline) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Deck.class))
+                .flatMap(collection -> Mono.from(collection.aggregate(pipeline).explain(Document.class)));
+    }
+
+    private QueryPlanDTO createQueryPlan(String query, Document explain) {
+        List<String> stages = new ArrayList<>();
+        collectWinningPlanStages(explain, false, stages);
+
+        return new QueryPlanDTO(query, stages, stages.contains(COLLECTION_SCAN));
+    }
+
+    // Explain output differs between find, aggregate and server versions, so the winning plan is searched for recursively.
+    private void collectWinningPlanStages(Object node, boolean insideWinningPlan, List<String> stages) {
+        if (node instanceof Document document) {
+            document.forEach((key, value) -> {
+                if (insideWinningPlan && key.equals("stage") && value instanceof String stage)
+                    stages.add(stage);
+                else if (!key.equals("rejectedPlans"))
+                    collectWinningPlanStages(value, insideWinningPlan || key.equals("winningPlan"), stages);
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(element -> collectWinningPlanStages(element, insideWinningPlan, stages));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.talismanresourceserver.search;
+
+import com.talismanresourceserver.cache.DeckCatalogLoadedEvent;
+import com.talismanresourceserver.dto.CardSuggestionDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prefix completion of card names over the whole catalog. The names are folded with {@link TextNormalizer} and kept
+ * in a trie flattened into arrays, where every node already holds its best {@link #MAX_SUGGESTIONS} completions,
+ * weighted by the number of copies of the card in all decks. A lookup walks the prefix and returns a view of that
+ * precomputed list, so it allocates nothing that depends on the size of the catalog.
+ * <p>
+ * The trie is rebuilt whenever the catalog is loaded, never on the request path.
+ */
+@Component
+@Slf4j
+public class CardNameAutocomplete {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<CardSuggestionDTO> BY_WEIGHT =
+            Comparator.comparingInt(CardSuggestionDTO::getWeight).reversed().thenComparing(CardSuggestionDTO::getName);
+
+    private volatile Trie trie = Trie.build(List.of());
+
+    @EventListener
+    public void onCatalogLoaded(DeckCatalogLoadedEvent event) {
+        update(event.decks());
+    }
+
+    public void update(List<Deck> decks) {
+        // Cards with the same folded name are one suggestion; the first spelling seen is the one shown.
+        var names = new HashMap<String, String>();
+        var weights = new HashMap<String, Integer>();
+
+        for (Deck deck : decks) {
+            if (deck.getCards() == null)
+                continue;
+
+            for (Card card : deck.getCards()) {
+                if (card.getName() == null || card.getName().isBlank())
+                    continue;
+
+                var name = card.getName().trim();
+                var key = TextNormalizer.fold(name);
+
+                names.putIfAbsent(key, name);
+                weights.merge(key, Math.max(card.getNumber_of_copies(), 1), Integer::sum);
+            }
+        }
+
+        var suggestions = new ArrayList<Map.Entry<String, CardSuggestionDTO>>(names.size());
+        names.forEach((key, name) -> suggestions.add(Map.entry(key, new CardSuggestionDTO(name, weights.get(key)))));
+
+        trie = Trie.build(suggestions);
+        log.debug("Autocomplete rebuilt with {} card names", suggestions.size());
+    }
+
+    public List<CardSuggestionDTO> complete(String prefix, int limit) {
+        if (prefix == null || limit <= 0)
+            return List.of();
+
+        var suggestions = trie.complete(prefix);
+
+        return suggestions.subList(0, Math.min(limit, suggestions.size()));
+    }
+
+    /**
+     * Children of a node are stored next to each other, sorted by their label, so they can be binary searched.
+     */
+    private record Trie(char[] labels, int[] firstChild, int[] childCount, List<List<CardSuggestionDTO>> top) {
+
+        List<CardSuggestionDTO> complete(String prefix) {
+            int node = 0;
+
+            for (int i = 0; i < prefix.length(); i++) {
+                node = child(node, TextNormalizer.fold(prefix.charAt(i)));
+
+                if (node < 0)
+                    return List.of();
+            }
+
+            return top.get(node);
+        }
+
+        private int child(int node, char label) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+
+                if (labels[middle] < label)
+                    low = middle + 1;
+                else if (labels[middle] > label)
+                    high = middle - 1;
+                else
+                    return middle;
+            }
+
+            return -1;
+        }
+
+        static Trie build(List<Map.Entry<String, CardSuggestionDTO>> suggestions) {
+            var root = new Node();
+
+            for (var suggestion : suggestions) {
+                var node = root;
+
+                for (char label : suggestion.getKey().toCharArray())
+                    node = node.children.computeIfAbsent(label, key -> new Node());
+
+                node.suggestion = suggestion.getValue();
+            }
+
+            root.collectTop();
+
+            // Breadth-first numbering keeps the children of every node contiguous.
+            var nodes = new ArrayList<Node>();
+            var labels = new ArrayList<Character>();
+            var queue = new ArrayDeque<Node>();
+
+            nodes.add(root);
+            labels.add('\0');
+            queue.add(root);
+
+            var firstChild = new ArrayList<Integer>();
+
+            while (!queue.isEmpty()) {
+                var node = queue.poll();
+                firstChild.add(nodes.size());
+
+                node.children.forEach((label, child) -> {
+                    nodes.add(child);
+                    labels.add(label);
+                    queue.add(child);
+                });
+            }
+
+            var labelArray = new char[nodes.size()];
+            var firstChildArray = new int[nodes.size()];
+            var childCountArray = new int[nodes.size()];
+            var topList = new ArrayList<List<CardSuggestionDTO>>(nodes.size());
+
+            for (int i = 0; i < nodes.size(); i++) {
+                labelArray[i] = labels.get(i);
+                firstChildArray[i] = firstChild.get(i);
+                childCountArray[i] = nodes.get(i).children.size();
+                topList.add(List.copyOf(nodes.get(i).top));
+            }
+
+            return new Trie(labelArray, firstChildArray, childCountArray, topList);
+        }
+    }
+
+    private static final class Node {
+
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private CardSuggestionDTO suggestion;
+        private List<CardSuggestionDTO> top = List.of();
+
+        void collectTop() {
+            var candidates = new ArrayList<CardSuggestionDTO>();
+
+            if (suggestion != null)
+                candidates.add(suggestion);
+
+            for (Node child : children.values()) {
+                child.collectTop();
+                candidates.addAll(child.top);
+            }
+
+            candidates.sort(BY_WEIGHT);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size()));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.talismanresourceserver.search;
+
+import com.talismanresourceserver.cache.DeckCatalogLoadedEvent;
+import com.talismanresourceserver.config.FuzzyMatchProperties;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Typo tolerant lookup of card names within a deck, used when the exact name was not found. Every deck gets a
+ * BK-tree over its folded card names, so the names within the configured edit distance are found by visiting a small
+ * part of the tree, entirely in memory.
+ */
+@Component
+public class CardNameMatcher {
+
+    private final FuzzyMatchProperties properties;
+
+    private volatile Map<String, DeckTree> trees = Map.of();
+
+    public CardNameMatcher(FuzzyMatchProperties properties) {
+        this.properties = properties;
+    }
+
+    @EventListener
+    public void onCatalogLoaded(DeckCatalogLoadedEvent event) {
+        update(event.decks());
+    }
+
+    public synchronized void update(List<Deck> decks) {
+        var current = trees;
+        var updated = new HashMap<String, DeckTree>();
+
+        for (Deck deck : decks) {
+            var tree = current.get(deck.getNameOfDeck());
+
+            if (tree == null || tree.version() == null || !tree.version().equals(deck.getContentVersion()))
+                tree = DeckTree.of(deck);
+
+            updated.put(deck.getNameOfDeck(), tree);
+        }
+
+        trees = Map.copyOf(updated);
+    }
+
+    public Result match(String nameOfDeck, String nameOfCard) {
+        var tree = trees.get(nameOfDeck);
+
+        if (tree == null || tree.root() == null || nameOfCard == null)
+            return new Result(Optional.empty(), List.of());
+
+        var matches = new ArrayList<Match>();
+        tree.root().search(TextNormalizer.fold(nameOfCard.trim()), properties.getMaxDistance(), matches);
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(match -> match.node().key));
+
+        // Only an unambiguous best match is resolved; a tie between equally close names is left to the client.
+        boolean unambiguous = !matches.isEmpty()
+                && matches.get(0).node().cards.size() == 1
+                && (matches.size() == 1 || matches.get(1).distance() > matches.get(0).distance());
+        var resolved = properties.isAutoResolve() && unambiguous
+                ? Optional.of(matches.get(0).node().cards.get(0))
+                : Optional.<Card>empty();
+
+        var suggestions = matches.stream()
+                .limit(properties.getMaxSuggestions())
+                .flatMap(match -> match.node().cards.stream().map(Card::getName))
+                .distinct()
+                .toList();
+
+        return new Result(resolved, suggestions);
+    }
+
+    public record Result(Optional<Card> resolved, List<String> suggestions) {
+    }
+
+    private record Match(Node node, int distance) {
+    }
+
+    private record DeckTree(String version, Node root) {
+
+        static DeckTree of(Deck deck) {
+            Node root = null;
+
+            if (deck.getCards() != null) {
+                for (Card card : deck.getCards()) {
+                    if (card.getName() == null)
+                        continue;
+
+                    var key = TextNormalizer.fold(card.getName().trim());
+
+                    if (root == null)
+                        root = new Node(key);
+
+                    root.add(key, card);
+                }
+            }
+
+            return new DeckTree(deck.getContentVersion(), root);
+        }
+    }
+
+    private static final class Node {
+
+        private final String key;
+        private final List<Card> cards = new ArrayList<>(1);
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String key) {
+            this.key = key;
+        }
+
+        void add(String name, Card card) {
+            var node = this;
+
+            while (true) {
+                int distance = levenshtein(name, node.key);
+
+                if (distance == 0) {
+                    node.cards.add(card);
+                    return;
+                }
+
+                var child = node.children.get(distance);
+
+                if (child == null) {
+                    child = new Node(name);
+                    child.cards.add(card);
+                    node.children.put(distance, child);
+                    return;
+                }
+
+                node = child;
+            }
+        }
+
+        void search(String name, int maxDistance, List<Match> matches) {
+            int distance = levenshtein(name, key);
+
+            if (distance <= maxDistance)
+                matches.add(new Match(this, distance));
+
+            // By the triangle inequality only children at distance d ± maxDistance can hold a match.
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                var child = children.get(edge);
+
+                if (child != null)
+                    child.search(name, maxDistance, matches);
+            }
+        }
+    }
+
+    static int levenshtein(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+
+        for (int j = 0; j <= second.length(); j++)
+            previous[j] = j;
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j] + 1, current[j - 1] + 1));
+            }
+
+            var swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[second.length()];
+    }
+}
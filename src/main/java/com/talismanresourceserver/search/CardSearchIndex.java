@@ -0,0 +1,187 @@
+package com.talismanresourceserver.search;
+
+import com.talismanresourceserver.cache.DeckCatalogLoadedEvent;
+import com.talismanresourceserver.dto.CardSearchResultDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * In-memory inverted index over the name, subtype and description of every card in the catalog. Each deck is
+ * indexed into its own segment, so a catalog reload only rebuilds the decks whose content version changed.
+ * <p>
+ * A card matches when it contains every term of the query. Matches are ranked by the sum of their term weights
+ * (a term in the name counts more than one in the description) multiplied by the inverse document frequency.
+ */
+@Component
+@Slf4j
+public class CardSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int SUBTYPE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Comparator<CardSearchResultDTO> RANKING =
+            Comparator.comparingDouble(CardSearchResultDTO::getScore).reversed()
+                    .thenComparing(CardSearchResultDTO::getNameOfDeck)
+                    .thenComparing(result -> Objects.requireNonNullElse(result.getCard().getName(), ""));
+
+    private volatile Map<String, DeckSegment> segments = Map.of();
+
+    @EventListener
+    public void onCatalogLoaded(DeckCatalogLoadedEvent event) {
+        update(event.decks());
+    }
+
+    public synchronized void update(List<Deck> decks) {
+        var current = segments;
+        var updated = new HashMap<String, DeckSegment>();
+        int rebuilt = 0;
+
+        for (Deck deck : decks) {
+            var segment = current.get(deck.getNameOfDeck());
+
+            if (segment == null || segment.version() == null || !segment.version().equals(deck.getContentVersion())) {
+                segment = DeckSegment.of(deck);
+                rebuilt++;
+            }
+
+            updated.put(deck.getNameOfDeck(), segment);
+        }
+
+        segments = Map.copyOf(updated);
+        log.debug("Search index rebuilt {} of {} decks", rebuilt, updated.size());
+    }
+
+    public List<CardSearchResultDTO> search(String query, int limit) {
+        var terms = TextNormalizer.tokenize(query).stream().distinct().toList();
+
+        if (terms.isEmpty() || limit <= 0)
+            return List.of();
+
+        var snapshot = segments.values();
+        int documents = 0;
+        int[] documentFrequencies = new int[terms.size()];
+
+        for (DeckSegment segment : snapshot) {
+            documents += segment.cards().length;
+
+            for (int i = 0; i < terms.size(); i++)
+                documentFrequencies[i] += segment.postings(terms.get(i)).documents().length;
+        }
+
+        double[] idf = new double[terms.size()];
+
+        for (int i = 0; i < terms.size(); i++) {
+            if (documentFrequencies[i] == 0)
+                return List.of();
+
+            idf[i] = Math.log(1 + (double) documents / documentFrequencies[i]);
+        }
+
+        var top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+        for (DeckSegment segment : snapshot)
+            segment.collect(terms, idf, top, limit);
+
+        var results = new ArrayList<>(top);
+        results.sort(RANKING);
+
+        return results;
+    }
+
+    private record Postings(int[] documents, int[] weights) {
+
+        private static final Postings EMPTY = new Postings(new int[0], new int[0]);
+
+        int weightOf(int document) {
+            int index = Arrays.binarySearch(documents, document);
+
+            return index < 0 ? 0 : weights[index];
+        }
+    }
+
+    private record DeckSegment(String nameOfDeck, String version, Card[] cards, Map<String, Postings> index) {
+
+        static DeckSegment of(Deck deck) {
+            var cards = deck.getCards() == null ? new Card[0] : deck.getCards().toArray(Card[]::new);
+            var documents = new HashMap<String, List<int[]>>();
+
+            for (int document = 0; document < cards.length; document++) {
+                var weights = new HashMap<String, Integer>();
+
+                addTerms(weights, cards[document].getName(), NAME_WEIGHT);
+                addTerms(weights, cards[document].getSubtype(), SUBTYPE_WEIGHT);
+                addTerms(weights, cards[document].getDescription(), DESCRIPTION_WEIGHT);
+
+                // Documents are visited in order, so every posting list ends up sorted.
+                int current = document;
+                weights.forEach((term, weight) ->
+                        documents.computeIfAbsent(term, key -> new ArrayList<>()).add(new int[]{current, weight}));
+            }
+
+            var index = new HashMap<String, Postings>(documents.size() * 2);
+
+            documents.forEach((term, entries) -> index.put(term, new Postings(
+                    entries.stream().mapToInt(entry -> entry[0]).toArray(),
+                    entries.stream().mapToInt(entry -> entry[1]).toArray())));
+
+            return new DeckSegment(deck.getNameOfDeck(), deck.getContentVersion(), cards, index);
+        }
+
+        private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+            for (String term : TextNormalizer.tokenize(text))
+                weights.merge(term, weight, Integer::sum);
+        }
+
+        Postings postings(String term) {
+            return index.getOrDefault(term, Postings.EMPTY);
+        }
+
+        void collect(List<String> terms, double[] idf, PriorityQueue<CardSearchResultDTO> top, int limit) {
+            // The rarest term drives the intersection, the others are probed with a binary search.
+            int driver = 0;
+
+            for (int i = 1; i < terms.size(); i++) {
+                if (postings(terms.get(i)).documents().length < postings(terms.get(driver)).documents().length)
+                    driver = i;
+            }
+
+            var driving = postings(terms.get(driver));
+
+            candidates:
+            for (int candidate = 0; candidate < driving.documents().length; candidate++) {
+                int document = driving.documents()[candidate];
+                double score = driving.weights()[candidate] * idf[driver];
+
+                for (int i = 0; i < terms.size(); i++) {
+                    if (i == driver)
+                        continue;
+
+                    int weight = postings(terms.get(i)).weightOf(document);
+
+                    if (weight == 0)
+                        continue candidates;
+
+                    score += weight * idf[i];
+                }
+
+                top.offer(new CardSearchResultDTO(nameOfDeck, cards[document], score));
+
+                if (top.size() > limit)
+                    top.poll();
+            }
+        }
+    }
+}
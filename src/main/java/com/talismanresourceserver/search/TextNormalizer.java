@@ -0,0 +1,66 @@
+package com.talismanresourceserver.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lower-cases text and folds diacritics, so that "Łucznik", "łucznik" and "lucznik" are the same term. Polish letters
+ * are mapped directly, because {@code ł} has no canonical decomposition; other accented letters are decomposed and
+ * stripped of their combining marks.
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null)
+            return "";
+
+        var folded = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); i++)
+            folded.append(fold(text.charAt(i)));
+
+        return folded.toString();
+    }
+
+    public static char fold(char character) {
+        char lower = Character.toLowerCase(character);
+
+        return switch (lower) {
+            case 'ą' -> 'a';
+            case 'ć' -> 'c';
+            case 'ę' -> 'e';
+            case 'ł' -> 'l';
+            case 'ń' -> 'n';
+            case 'ó' -> 'o';
+            case 'ś' -> 's';
+            case 'ź', 'ż' -> 'z';
+            default -> lower < 0x80 ? lower : Normalizer.normalize(String.valueOf(lower), Normalizer.Form.NFD).charAt(0);
+        };
+    }
+
+    /**
+     * Splits the folded text into terms made of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        var folded = fold(text);
+        var tokens = new ArrayList<String>();
+        int start = -1;
+
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean partOfToken = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+
+            if (partOfToken && start < 0) {
+                start = i;
+            } else if (!partOfToken && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return tokens;
+    }
+}
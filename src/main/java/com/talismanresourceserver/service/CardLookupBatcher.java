@@ -0,0 +1,146 @@
+package com.talismanresourceserver.service;
+
+import com.talismanresourceserver.config.BatchingProperties;
+import com.talismanresourceserver.dto.BatchStatisticsDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.repository.DeckRepository;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects single card lookups arriving within a short window and resolves all lookups for the same deck with one
+ * {@link DeckRepository#findCardsInDeck} query. A batch is flushed when the window elapses or when it reaches
+ * the maximum size, whichever comes first.
+ */
+@Component
+public class CardLookupBatcher {
+
+    private final DeckRepository deckRepository;
+    private final BatchingProperties batchingProperties;
+
+    private final Map<String, Batch> pendingBatches = new ConcurrentHashMap<>();
+
+    private final LongAdder numberOfBatches = new LongAdder();
+    private final LongAdder numberOfLookups = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+
+    public CardLookupBatcher(DeckRepository deckRepository, BatchingProperties batchingProperties) {
+        this.deckRepository = deckRepository;
+        this.batchingProperties = batchingProperties;
+    }
+
+    public boolean isEnabled() {
+        return batchingProperties.isEnabled();
+    }
+
+    public Mono<Card> getCardFromDeckByName(String nameOfDeck, String nameOfCard) {
+        return Mono.defer(() -> {
+            Sinks.One<Card> sink = Sinks.one();
+            enqueue(nameOfDeck, nameOfCard, sink);
+            return sink.asMono();
+        });
+    }
+
+    public BatchStatisticsDTO statistics() {
+        long batches = numberOfBatches.sum();
+        long lookups = numberOfLookups.sum();
+
+        return BatchStatisticsDTO.builder()
+                .enabled(isEnabled())
+                .numberOfBatches(batches)
+                .numberOfLookups(lookups)
+                .averageBatchSize(batches == 0 ? 0 : lookups / (double) batches)
+                .maxBatchSize(maxBatchSize.get())
+                .build();
+    }
+
+    private void enqueue(String nameOfDeck, String nameOfCard, Sinks.One<Card> sink) {
+        while (true) {
+            Batch batch = pendingBatches.computeIfAbsent(nameOfDeck, this::openBatch);
+            int size = batch.add(nameOfCard, sink);
+
+            if (size >= batchingProperties.getMaxSize())
+                flush(nameOfDeck, batch);
+
+            if (size > 0)
+                return;
+
+            // The batch has been flushed in the meantime, retry with a new one.
+            pendingBatches.remove(nameOfDeck, batch);
+        }
+    }
+
+    private Batch openBatch(String nameOfDeck) {
+        Batch batch = new Batch();
+        Schedulers.parallel().schedule(() -> flush(nameOfDeck, batch),
+                batchingProperties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        return batch;
+    }
+
+    private void flush(String nameOfDeck, Batch batch) {
+        if (!batch.close())
+            return;
+
+        pendingBatches.remove(nameOfDeck, batch);
+
+        numberOfBatches.increment();
+        numberOfLookups.add(batch.size);
+        maxBatchSize.accumulate(batch.size);
+
+        deckRepository.findCardsInDeck(nameOfDeck, batch.waiters.keySet())
+                .map(Deck::getCards)
+                .defaultIfEmpty(List.of())
+                .subscribe(batch::complete, batch::fail);
+    }
+
+    private static final class Batch {
+
+        private final Map<String, List<Sinks.One<Card>>> waiters = new HashMap<>();
+        private int size;
+        private boolean closed;
+
+        synchronized int add(String nameOfCard, Sinks.One<Card> sink) {
+            if (closed)
+                return 0;
+
+            waiters.computeIfAbsent(nameOfCard, name -> new ArrayList<>()).add(sink);
+            return ++size;
+        }
+
+        synchronized boolean close() {
+            if (closed)
+                return false;
+
+            closed = true;
+            return true;
+        }
+
+        void complete(List<Card> cards) {
+            Map<String, Card> cardsByName = new HashMap<>();
+            cards.forEach(card -> cardsByName.putIfAbsent(card.getName(), card));
+
+            waiters.forEach((nameOfCard, sinks) -> {
+                Card card = cardsByName.get(nameOfCard);
+                sinks.forEach(sink -> {
+                    if (card != null)
+                        sink.tryEmitValue(card);
+                    else
+                        sink.tryEmitEmpty();
+                });
+            });
+        }
+
+        void fail(Throwable error) {
+            waiters.values().forEach(sinks -> sinks.forEach(sink -> sink.tryEmitError(error)));
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.talismanresourceserver.service;
 
+import com.talismanresourceserver.cache.CatalogNames;
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.draw.DeckDrawTables;
+import com.talismanresourceserver.dto.CardLookupDTO;
+import com.talismanresourceserver.dto.CardLookupResultDTO;
+import com.talismanresourceserver.dto.DeckIndexDTO;
 import com.talismanresourceserver.exception.CardNotFoundException;
 import com.talismanresourceserver.exception.DeckNotFoundException;
 import com.talismanresourceserver.model.Card;
@@ -7,45 +13,173 @@ import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import com.talismanresourceserver.repository.DeckRepository;
+import com.talismanresourceserver.search.CardNameMatcher;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.stream.Collectors.*;
+
 @Service
 @AllArgsConstructor
 public class CardService {
 
+    public static final int MAX_LOOKUPS = 500;
+
     private final DeckRepository deckRepository;
+    private final DeckCache deckCache;
+    private final CardLookupBatcher cardLookupBatcher;
+    private final SingleFlight singleFlight;
+    private final CardNameMatcher cardNameMatcher;
+    private final CatalogNames catalogNames;
+    private final DeckDrawTables deckDrawTables;
 
     public Flux<Deck> getAllDecks() {
-        return deckRepository.findAll();
+        return deckCache.getAllDecks();
     }
 
     public Mono<Deck> getDeckByNameOfDeck(String nameOfDeck) {
-        return deckRepository.findDeckByNameOfDeck(nameOfDeck)
-                        .switchIfEmpty(Mono.defer(() ->
-                                Mono.error(new DeckNotFoundException(String.format("Deck: %s not found!", nameOfDeck)))));
+        if (!catalogNames.mayContainDeck(nameOfDeck))
+            return Mono.error(DeckNotFoundException.forDeck(nameOfDeck));
+
+        return deckCache.getDeck(nameOfDeck)
+                        .switchIfEmpty(Mono.defer(() -> Mono.error(DeckNotFoundException.forDeck(nameOfDeck))));
+    }
+
+    public Flux<Deck> getDeckSummaries() {
+        return deckRepository.findAllSummaries();
+    }
+
+    public Mono<Deck> getDeckSummaryByNameOfDeck(String nameOfDeck) {
+        if (!catalogNames.mayContainDeck(nameOfDeck))
+            return Mono.error(DeckNotFoundException.forDeck(nameOfDeck));
+
+        return deckRepository.findDeckSummaryByNameOfDeck(nameOfDeck)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(DeckNotFoundException.forDeck(nameOfDeck))));
+    }
+
+    public Flux<DeckIndexDTO> getDeckIndex() {
+        return deckRepository.findDeckIndex();
     }
 
     public Mono<Card> getCardFromDeckByName(String nameOfDeck, String nameOfCard) {
-        return deckRepository.findCardInDeck(nameOfDeck, nameOfCard)
-                .switchIfEmpty(Mono.defer(() ->
-                        Mono.error(new CardNotFoundException(String.format("Card: %s in deck: %s not found!", nameOfCard, nameOfDeck)))))
-                .map(Deck::getCards).map(response -> response.get(0));
+        // Unknown names skip the database but still get the typo tolerant resolution.
+        if (!catalogNames.mayContainCard(nameOfDeck, nameOfCard))
+            return Mono.defer(() -> resolveMisspelledCard(nameOfDeck, nameOfCard));
+
+        Mono<Card> card = cardLookupBatcher.isEnabled()
+                ? cardLookupBatcher.getCardFromDeckByName(nameOfDeck, nameOfCard)
+                : deckRepository.findCardInDeck(nameOfDeck, nameOfCard).map(Deck::getCards).map(response -> response.get(0));
+
+        return singleFlight.mono(() -> card, "getCardFromDeckByName", nameOfDeck, nameOfCard)
+                .switchIfEmpty(Mono.defer(() -> resolveMisspelledCard(nameOfDeck, nameOfCard)));
+    }
+
+    /**
+     * Resolves every lookup with one query per deck and answers them one to one, in the order they were given.
+     */
+    public Flux<CardLookupResultDTO> lookupCards(List<CardLookupDTO> lookups) {
+        if (lookups.size() > MAX_LOOKUPS)
+            return Flux.error(new IllegalArgumentException(
+                    String.format("At most %d cards can be looked up at once, got %d!", MAX_LOOKUPS, lookups.size())));
+
+        Map<String, Set<String>> namesOfCardsByDeck = lookups.stream()
+                .filter(CardService::isComplete)
+                .collect(groupingBy(CardLookupDTO::getNameOfDeck, LinkedHashMap::new,
+                        mapping(CardLookupDTO::getNameOfCard, toCollection(LinkedHashSet::new))));
+
+        return Flux.fromIterable(namesOfCardsByDeck.entrySet())
+                .flatMap(entry -> deckRepository.findCardsInDeck(entry.getKey(), entry.getValue())
+                        .map(Deck::getCards)
+                        .defaultIfEmpty(List.of())
+                        .map(cards -> Map.entry(entry.getKey(), cardsByName(cards))))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .flatMapIterable(cardsByDeck -> lookups.stream()
+                        .map(lookup -> createLookupResult(lookup, cardsByDeck))
+                        .toList());
     }
 
     public Flux<Card> getCardsFromTypeInDeck(String nameOfDeck, CardType type) {
-        return deckRepository.findCardsOfTypeInDeck(nameOfDeck, type)
+        return singleFlight.mono(() -> deckRepository.findCardsOfTypeInDeck(nameOfDeck, type), "getCardsFromTypeInDeck", nameOfDeck, type)
                 .switchIfEmpty(Mono.defer(() ->
                         Mono.error(new CardNotFoundException(String.format("Cards of type: %s in deck: %s not found!", type, nameOfDeck)))))
                 .flatMapIterable(Deck::getCards);
     }
 
     public Flux<Card> getEnemiesFromDeckByStatisticType(String nameOfDeck, FightType fightStatistic) {
-        return deckRepository.findEnemiesInDeckByStatistic(nameOfDeck, fightStatistic)
+        return singleFlight.mono(() -> deckRepository.findEnemiesInDeckByStatistic(nameOfDeck, fightStatistic),
+                        "getEnemiesFromDeckByStatisticType", nameOfDeck, fightStatistic)
                 .switchIfEmpty(Mono.defer(() ->
                         Mono.error(new CardNotFoundException(String.format("Enemies of type: %s in deck: %s not found!", fightStatistic, nameOfDeck)))))
                 .flatMapIterable(Deck::getCards);
     }
+
+    public Flux<Card> streamCardsFromTypeInDeck(String nameOfDeck, CardType type) {
+        return deckRepository.streamCardsOfTypeInDeck(nameOfDeck, type)
+                .switchIfEmpty(Flux.defer(() ->
+                        Flux.error(new CardNotFoundException(String.format("Cards of type: %s in deck: %s not found!", type, nameOfDeck)))));
+    }
+
+    public Flux<Card> streamEnemiesFromDeckByStatisticType(String nameOfDeck, FightType fightStatistic) {
+        return deckRepository.streamEnemiesInDeckByStatistic(nameOfDeck, fightStatistic)
+                .switchIfEmpty(Flux.defer(() ->
+                        Flux.error(new CardNotFoundException(String.format("Enemies of type: %s in deck: %s not found!", fightStatistic, nameOfDeck)))));
+    }
+
+    public Flux<Card> getEnemiesFromDeckByFightPower(String nameOfDeck, Integer minPower, Integer maxPower, FightType fightStatistic) {
+        int min = minPower == null ? 0 : minPower;
+        int max = maxPower == null ? Integer.MAX_VALUE : maxPower;
+        List<FightType> fightStatistics = fightStatistic == null ? List.of(FightType.values()) : List.of(fightStatistic);
+
+        return singleFlight.mono(() -> deckRepository.findEnemiesInDeckByFightPower(nameOfDeck, min, max, fightStatistics),
+                        "getEnemiesFromDeckByFightPower", nameOfDeck, min, max, fightStatistics)
+                .switchIfEmpty(Mono.defer(() ->
+                        Mono.error(new CardNotFoundException(String.format("Enemies with fight power between %d and %d in deck: %s not found!", min, max, nameOfDeck)))))
+                .flatMapIterable(Deck::getCards);
+    }
+
+    /**
+     * Draws cards with replacement, weighted by their number of copies. A seed makes the draw reproducible.
+     */
+    public Flux<Card> drawCards(String nameOfDeck, int numberOfCards, CardType type, Long seed) {
+        return getDeckByNameOfDeck(nameOfDeck)
+                .flatMapMany(deck -> deckDrawTables.tableFor(deck, type)
+                        .map(table -> Flux.fromIterable(table.draw(numberOfCards,
+                                seed == null ? ThreadLocalRandom.current() : new SplittableRandom(seed))))
+                        .orElseGet(() -> Flux.error(new CardNotFoundException(
+                                String.format("No cards of type: %s to draw in deck: %s!", type, nameOfDeck)))));
+    }
+
+    private Mono<Card> resolveMisspelledCard(String nameOfDeck, String nameOfCard) {
+        var match = cardNameMatcher.match(nameOfDeck, nameOfCard);
+
+        return match.resolved()
+                .map(Mono::just)
+                .orElseGet(() -> Mono.error(CardNotFoundException.forCard(nameOfDeck, nameOfCard, match.suggestions())));
+    }
+
+    private static boolean isComplete(CardLookupDTO lookup) {
+        return lookup.getNameOfDeck() != null && lookup.getNameOfCard() != null;
+    }
+
+    private static Map<String, Card> cardsByName(List<Card> cards) {
+        Map<String, Card> cardsByName = new HashMap<>();
+        cards.forEach(card -> cardsByName.putIfAbsent(card.getName(), card));
+
+        return cardsByName;
+    }
+
+    private static CardLookupResultDTO createLookupResult(CardLookupDTO lookup, Map<String, Map<String, Card>> cardsByDeck) {
+        Card card = isComplete(lookup)
+                ? cardsByDeck.getOrDefault(lookup.getNameOfDeck(), Map.of()).get(lookup.getNameOfCard())
+                : null;
+
+        return card != null
+                ? CardLookupResultDTO.found(lookup.getNameOfDeck(), card)
+                : CardLookupResultDTO.notFound(lookup.getNameOfDeck(), lookup.getNameOfCard());
+    }
 }
@@ -0,0 +1,59 @@
+package com.talismanresourceserver.service;
+
+import com.talismanresourceserver.dto.CreateSessionDTO;
+import com.talismanresourceserver.dto.DeckSessionDTO;
+import com.talismanresourceserver.exception.SessionNotFoundException;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.session.DeckSession;
+import com.talismanresourceserver.session.DeckSessionStore;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class SessionService {
+
+    private final CardService cardService;
+    private final DeckSessionStore deckSessionStore;
+
+    public Mono<DeckSessionDTO> createSession(CreateSessionDTO createSession) {
+        return cardService.getDeckByNameOfDeck(createSession.getNameOfDeck())
+                .map(deck -> deckSessionStore.create(deck, createSession.getSeed()).toDTO());
+    }
+
+    public Mono<DeckSessionDTO> getSession(String id) {
+        return findSession(id).map(DeckSession::toDTO);
+    }
+
+    public Flux<Card> drawCards(String id, int numberOfCards) {
+        return findSession(id).flatMapIterable(session -> session.draw(numberOfCards));
+    }
+
+    public Mono<DeckSessionDTO> discardCards(String id, List<String> namesOfCards) {
+        return findSession(id).map(session -> {
+            session.discard(namesOfCards);
+            return session.toDTO();
+        });
+    }
+
+    public Mono<DeckSessionDTO> reshuffle(String id) {
+        return findSession(id).map(session -> {
+            session.reshuffle();
+            return session.toDTO();
+        });
+    }
+
+    public Mono<Void> deleteSession(String id) {
+        return Mono.fromRunnable(() -> deckSessionStore.remove(id));
+    }
+
+    private Mono<DeckSession> findSession(String id) {
+        return Mono.defer(() -> deckSessionStore.find(id)
+                .map(Mono::just)
+                .orElseGet(() -> Mono.error(SessionNotFoundException.forSession(id))));
+    }
+}
@@ -0,0 +1,40 @@
+package com.talismanresourceserver.service;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call for a key is in flight, further calls with the same key
+ * subscribe to the same upstream and receive its result. The entry is dropped as soon as the upstream terminates,
+ * so nothing is cached beyond the lifetime of the call.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Object, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> mono(Supplier<Mono<T>> supplier, Object... key) {
+        var inFlightKey = Arrays.asList(key);
+
+        return Mono.defer(() -> (Mono<T>) inFlight.computeIfAbsent(inFlightKey, k -> share(k, supplier.get())));
+    }
+
+    public <T> Flux<T> flux(Supplier<Flux<T>> supplier, Object... key) {
+        return mono(() -> supplier.get().collectList(), key).flatMapIterable(Function.identity());
+    }
+
+    private <T> Mono<T> share(Object key, Mono<T> source) {
+        var shared = new AtomicReference<Mono<T>>();
+        shared.set(source.doFinally(signal -> inFlight.remove(key, shared.get())).share());
+        return shared.get();
+    }
+}
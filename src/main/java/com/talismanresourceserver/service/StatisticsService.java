@@ -1,13 +1,23 @@
 package com.talismanresourceserver.service;
 
+import com.talismanresourceserver.cache.CatalogStatisticsCache;
+import com.talismanresourceserver.cache.DeckCache;
 import com.talismanresourceserver.dto.DeckEnemiesDTO;
 import com.talismanresourceserver.dto.DeckEnemiesStatsDTO;
 import com.talismanresourceserver.dto.DeckStatisticsDTO;
+import com.talismanresourceserver.dto.FightOddsDTO;
+import com.talismanresourceserver.dto.SimulationResultDTO;
+import com.talismanresourceserver.exception.DeckNotFoundException;
+import com.talismanresourceserver.jfr.StatisticsComputationEvent;
 import com.talismanresourceserver.model.Card;
 import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import com.talismanresourceserver.repository.DeckRepository;
+import com.talismanresourceserver.statistics.EnemyStatsAccumulator;
+import com.talismanresourceserver.statistics.FightOddsTables;
+import com.talismanresourceserver.statistics.MonteCarloSimulator;
+import com.talismanresourceserver.statistics.SimulationQuery;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
@@ -15,7 +25,6 @@ import reactor.core.publisher.Mono;
 
 import java.util.*;
 
-import static java.util.Comparator.comparingInt;
 import static java.util.stream.Collectors.*;
 
 @Service
@@ -23,65 +32,99 @@ import static java.util.stream.Collectors.*;
 public class StatisticsService {
 
     private final DeckRepository deckRepository;
+    private final DeckCache deckCache;
+    private final SingleFlight singleFlight;
+    private final MonteCarloSimulator monteCarloSimulator;
+    private final FightOddsTables fightOddsTables;
+    private final CatalogStatisticsCache catalogStatisticsCache;
 
     private enum TypeOfStatistics {UNIQUE, ALL}
 
-    public Mono<DeckStatisticsDTO> getUniqueStats() {
-        return deckRepository.findAll().flatMap(deck -> getUniqueStatsFromDeck(deck.getNameOfDeck()))
-                .collectList().flatMap(this::createStatsFromAllDecks);
+    /**
+     * Statistics of the whole catalog together with the version of the listing they were computed from.
+     */
+    public record CatalogStatistics(String version, DeckStatisticsDTO statistics) {
     }
 
-    public Mono<DeckStatisticsDTO> getAllStats() {
-        return deckRepository.findAll().flatMap(deck -> getAllStatsFromDeck(deck.getNameOfDeck()))
-                .collectList().flatMap(this::createStatsFromAllDecks);
+    public Mono<String> getDeckVersion(String nameOfDeck) {
+        return deckCache.getDeck(nameOfDeck).mapNotNull(Deck::getContentVersion);
+    }
+
+    /**
+     * Statistics of the whole catalog. The version is taken from the same snapshot of the cached listing as the
+     * statistics, so the body always belongs to the version it is tagged with. They are computed once per catalog
+     * version.
+     */
+    public Mono<CatalogStatistics> getUniqueStats() {
+        return getStatsFromAllDecks("getUniqueStats", TypeOfStatistics.UNIQUE);
+    }
+
+    public Mono<CatalogStatistics> getAllStats() {
+        return getStatsFromAllDecks("getAllStats", TypeOfStatistics.ALL);
     }
 
     public Mono<DeckStatisticsDTO> getUniqueStatsFromDeck(String nameOfDeck) {
-        return deckRepository.findDeckByNameOfDeck(nameOfDeck).map(Deck::getCards)
-                .flatMap(cards -> createDeckStatisticsFromCards(cards, TypeOfStatistics.UNIQUE));
+        return singleFlight.mono(() -> deckCache.getDeck(nameOfDeck).map(Deck::getCards)
+                .flatMap(cards -> StatisticsComputationEvent.record("getUniqueStatsFromDeck", nameOfDeck, cards.size(),
+                        () -> createDeckStatisticsFromCards(cards, TypeOfStatistics.UNIQUE))),
+                "getUniqueStatsFromDeck", nameOfDeck);
     }
 
     public Mono<DeckStatisticsDTO> getAllStatsFromDeck(String nameOfDeck) {
-        return deckRepository.findDeckByNameOfDeck(nameOfDeck).map(Deck::getCards)
-                .flatMap(cards -> createDeckStatisticsFromCards(cards, TypeOfStatistics.ALL));
+        return singleFlight.mono(() -> deckCache.getDeck(nameOfDeck).map(Deck::getCards)
+                .flatMap(cards -> StatisticsComputationEvent.record("getAllStatsFromDeck", nameOfDeck, cards.size(),
+                        () -> createDeckStatisticsFromCards(cards, TypeOfStatistics.ALL))),
+                "getAllStatsFromDeck", nameOfDeck);
     }
 
     public Mono<DeckEnemiesStatsDTO> getAllEnemiesFromDeck(String nameOfDeck) {
 
-        return deckRepository.findCardsOfTypeInDeck(nameOfDeck, CardType.WRÓG)
-                .map(Deck::getCards).map(cards -> {
-
-                    int numberOfEnemiesTotal = cards.stream().mapToInt(Card::getNumber_of_copies).sum();
-                    int numberOfStrengthEnemies = numberOfEnemiesFromType(cards, FightType.SIŁA);
-                    int numberOfPowerEnemies = numberOfEnemiesFromType(cards, FightType.MOC);
-
-                    int maxStrength = maxValueFromType(cards, FightType.SIŁA);
-                    int maxPower = maxValueFromType(cards, FightType.MOC);
-
-                    int minStrength = minValueFromType(cards, FightType.SIŁA);
-                    int minPower = minValueFromType(cards, FightType.MOC);
-
-                    double averageStrength = averageValueFromType(cards, FightType.SIŁA);
-                    double averagePower = averageValueFromType(cards, FightType.MOC);
-
-                    return DeckEnemiesStatsDTO.builder()
-                            .numberOfEnemies(numberOfEnemiesTotal)
-                            .numberOfEnemiesWithStrength(numberOfStrengthEnemies)
-                            .numberOfEnemiesWithPower(numberOfPowerEnemies)
-                            .averageEnemyStrength(averageStrength)
-                            .maxEnemyStrength(maxStrength)
-                            .minEnemyStrength(minStrength)
-                            .averageEnemyPower(averagePower)
-                            .maxEnemyPower(maxPower)
-                            .minEnemyPower(minPower)
-                            .build();
-                });
+        return singleFlight.mono(() -> deckRepository.findCardsOfTypeInDeck(nameOfDeck, CardType.WRÓG)
+                .map(Deck::getCards)
+                .map(cards -> StatisticsComputationEvent.record("getAllEnemiesFromDeck", nameOfDeck, cards.size(),
+                        () -> cards.stream().collect(EnemyStatsAccumulator.collector()).toDeckEnemiesStats())),
+                "getAllEnemiesFromDeck", nameOfDeck);
     }
 
     public Flux<DeckEnemiesDTO> getNumberOfEnemies(String nameOfDeck) {
 
-        return this.deckRepository.findCardsOfTypeInDeck(nameOfDeck, CardType.WRÓG).map(Deck::getCards)
-                .flatMapIterable(this::createSetOfValues);
+        return singleFlight.flux(() -> this.deckRepository.findCardsOfTypeInDeck(nameOfDeck, CardType.WRÓG).map(Deck::getCards)
+                .flatMapIterable(cards -> StatisticsComputationEvent.record("getNumberOfEnemies", nameOfDeck, cards.size(),
+                        () -> createSetOfValues(cards))), "getNumberOfEnemies", nameOfDeck);
+    }
+
+    public Mono<SimulationResultDTO> simulate(String nameOfDeck, SimulationQuery query) {
+        return deckCache.getDeck(nameOfDeck)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(DeckNotFoundException.forDeck(nameOfDeck))))
+                .flatMap(deck -> StatisticsComputationEvent.record("simulate", nameOfDeck,
+                        monteCarloSimulator.simulate(deck, query), ignored -> numberOfCards(deck)));
+    }
+
+    public Mono<FightOddsDTO> getFightOdds(String nameOfDeck, int strength, int power) {
+        return deckCache.getDeck(nameOfDeck)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(DeckNotFoundException.forDeck(nameOfDeck))))
+                .map(deck -> StatisticsComputationEvent.record("getFightOdds", nameOfDeck, numberOfCards(deck),
+                        () -> fightOddsTables.lookup(deck, strength, power)));
+    }
+
+    private Mono<CatalogStatistics> getStatsFromAllDecks(String operation, TypeOfStatistics type) {
+        return deckCache.getAllDecks().collectList()
+                .flatMap(decks -> {
+                    var version = DeckCache.versionOf(decks);
+
+                    return catalogStatisticsCache.get(version, type.name(),
+                                    () -> StatisticsComputationEvent.record(operation, null, numberOfCards(decks),
+                                            () -> createStatsFromAllDecks(decks, type)))
+                            .map(statistics -> new CatalogStatistics(version, statistics));
+                });
+    }
+
+    private static int numberOfCards(Deck deck) {
+        return deck.getCards() != null ? deck.getCards().size() : 0;
+    }
+
+    private static int numberOfCards(List<Deck> decks) {
+        return decks.stream().mapToInt(StatisticsService::numberOfCards).sum();
     }
 
     private List<DeckEnemiesDTO> createSetOfValues(List<Card> cards) {
@@ -109,55 +152,15 @@ public class StatisticsService {
         return cards.stream().filter(card -> card.getFight_power().equals(value)).collect(groupingBy(Card::getFight_statistic, summingInt(Card::getNumber_of_copies)));
     }
 
-    private int numberOfEnemiesFromType(List<Card> cards, FightType type) {
-        Map<FightType, Integer> map = cards.stream().collect(groupingBy(Card::getFight_statistic, summingInt(Card::getNumber_of_copies)));
+    private Mono<DeckStatisticsDTO> createStatsFromAllDecks(List<Deck> decks, TypeOfStatistics type) {
 
-        return map.containsKey(FightType.SIŁA_MOC) ? map.get(type) + map.get(FightType.SIŁA_MOC) : map.get(type);
-    }
-
-    private double averageValueFromType(List<Card> cards, FightType type) {
-        Map<FightType, Integer> numberOfCards = cards.stream().filter(card -> !card.getFight_power().equals("?"))
-                .collect(groupingBy(Card::getFight_statistic, summingInt(Card::getNumber_of_copies)));
-
-        Map<FightType, Integer> totalPower = cards.stream().filter(card -> !card.getFight_power().equals("?"))
-                .collect(groupingBy(Card::getFight_statistic, summingInt(card -> card.getNumber_of_copies() * Integer.parseInt(card.getFight_power()))));
-
-        if(numberOfCards.containsKey(FightType.SIŁA_MOC)) {
-            return (totalPower.get(type) + totalPower.get(FightType.SIŁA_MOC))  / (double) (numberOfCards.get(type) + numberOfCards.get(FightType.SIŁA_MOC));
-        }
-        return totalPower.get(type) / (double) numberOfCards.get(type);
-    }
-
-    private int maxValueFromType(List<Card> cards, FightType type) {
-        Map<FightType, Optional<Integer>> map = cards.stream().filter(card -> !card.getFight_power().equals("?"))
-                .collect(groupingBy(Card::getFight_statistic, mapping(card -> Integer.parseInt(card.getFight_power()), maxBy(comparingInt(Integer::valueOf)))));
-
-        return map.containsKey(FightType.SIŁA_MOC) ? Math.max(map.get(type).get(), map.get(FightType.SIŁA_MOC).get()) : map.get(type).get();
-    }
-
-    private int minValueFromType(List<Card> cards, FightType type) {
-        Map<FightType, Optional<Integer>> map = cards.stream().filter(card -> !card.getFight_power().equals("?"))
-                .collect(groupingBy(Card::getFight_statistic, mapping(card -> Integer.parseInt(card.getFight_power()), minBy(comparingInt(Integer::valueOf)))));
+        List<Card> cards = decks.stream()
+                .filter(deck -> deck.getCards() != null)
+                .flatMap(deck -> deck.getCards().stream())
+                .filter(card -> card.getType() != null)
+                .toList();
 
-        return map.containsKey(FightType.SIŁA_MOC) ? Math.min(map.get(type).get(), map.get(FightType.SIŁA_MOC).get()) : map.get(type).get();
-    }
-
-    private Mono<DeckStatisticsDTO> createStatsFromAllDecks(List<DeckStatisticsDTO> decks) {
-        var initialStatistics = DeckStatisticsDTO.builder(0).build();
-
-        var aggregatedStatistics = decks.stream()
-                .reduce(initialStatistics, (accumulated, deckStatisticsDTO) -> {
-                    accumulated.setNumberOfCards(accumulated.getNumberOfCards() + deckStatisticsDTO.getNumberOfCards());
-                    accumulated.setNumberOfEvents(accumulated.getNumberOfEvents() + deckStatisticsDTO.getNumberOfEvents());
-                    accumulated.setNumberOfStrangers(accumulated.getNumberOfStrangers() + deckStatisticsDTO.getNumberOfStrangers());
-                    accumulated.setNumberOfPlaces(accumulated.getNumberOfPlaces() + deckStatisticsDTO.getNumberOfPlaces());
-                    accumulated.setNumberOfFollowers(accumulated.getNumberOfFollowers() + deckStatisticsDTO.getNumberOfFollowers());
-                    accumulated.setNumberOfItems(accumulated.getNumberOfItems() + deckStatisticsDTO.getNumberOfItems());
-                    accumulated.setNumberOfEnemies(accumulated.getNumberOfEnemies() + deckStatisticsDTO.getNumberOfEnemies());
-
-                    return accumulated;
-                });
-        return Mono.just(aggregatedStatistics);
+        return createDeckStatisticsFromCards(cards, type);
     }
 
     private Mono<DeckStatisticsDTO> createDeckStatisticsFromCards(List<Card> cards, TypeOfStatistics type) {
@@ -169,15 +172,20 @@ public class StatisticsService {
         else
             map = cards.stream().collect(groupingBy(Card::getType, summingInt(Card::getNumber_of_copies)));
 
+        return Mono.just(createDeckStatisticsFromMap(map));
+    }
+
+    private DeckStatisticsDTO createDeckStatisticsFromMap(Map<CardType, Integer> map) {
+
         int numberOfCards = map.values().stream().mapToInt(Integer::intValue).sum();
 
-        return Mono.just(DeckStatisticsDTO.builder(numberOfCards)
+        return DeckStatisticsDTO.builder(numberOfCards)
                 .numberOfEvents((map.getOrDefault(CardType.ZDARZENIE, 0) + map.getOrDefault(CardType.KSIĘŻYCOWE_ZDARZENIE, 0)))
                 .numberOfStrangers(map.getOrDefault(CardType.NIEZNAJOMY, 0))
                 .numberOfPlaces(map.getOrDefault(CardType.MIEJSCE, 0))
                 .numberOfFollowers(map.getOrDefault(CardType.PRZYJACIEL, 0))
                 .numberOfItems(map.getOrDefault(CardType.PRZEDMIOT, 0) + map.getOrDefault(CardType.MAGICZNY_PRZEDMIOT, 0))
                 .numberOfEnemies(map.getOrDefault(CardType.WRÓG, 0))
-                .build());
+                .build();
     }
 }
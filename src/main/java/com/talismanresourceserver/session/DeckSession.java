@@ -0,0 +1,155 @@
+package com.talismanresourceserver.session;
+
+import com.talismanresourceserver.dto.DeckSessionDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Physical state of one shuffled deck. Every copy of a card is an index into {@link #cards}, so the piles are plain
+ * int arrays: the draw pile, whose top is its last element, and the discard pile. Cards in hand are only counted.
+ * <p>
+ * A session belongs to one game and all its methods are synchronized, so the single writer never contends in
+ * practice and no state is shared between sessions.
+ */
+public final class DeckSession {
+
+    private final String id;
+    private final String nameOfDeck;
+    private final Card[] cards;
+    private final SplittableRandom random;
+
+    private final int[] drawPile;
+    private int remaining;
+
+    private final int[] discardPile;
+    private int discarded;
+
+    private final int[] inHand;
+    private int inHandTotal;
+
+    DeckSession(String id, Deck deck, SplittableRandom random) {
+        var drawable = deck.getCards() == null ? List.<Card>of() : deck.getCards().stream()
+                .filter(card -> card.getNumber_of_copies() > 0)
+                .toList();
+
+        this.id = id;
+        this.nameOfDeck = deck.getNameOfDeck();
+        this.cards = drawable.toArray(Card[]::new);
+        this.random = random;
+
+        int copies = drawable.stream().mapToInt(Card::getNumber_of_copies).sum();
+
+        if (copies == 0)
+            throw new IllegalArgumentException("Deck: " + nameOfDeck + " has no cards to shuffle!");
+
+        this.drawPile = new int[copies];
+        this.discardPile = new int[copies];
+        this.inHand = new int[cards.length];
+
+        for (int card = 0, position = 0; card < cards.length; card++) {
+            for (int copy = 0; copy < cards[card].getNumber_of_copies(); copy++)
+                drawPile[position++] = card;
+        }
+
+        remaining = copies;
+        shuffle();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Draws up to the given number of cards from the top of the draw pile. Fewer cards are returned when the pile
+     * runs out; it is refilled only by {@link #reshuffle()}.
+     */
+    public synchronized List<Card> draw(int numberOfCards) {
+        int count = Math.min(numberOfCards, remaining);
+        var drawn = new ArrayList<Card>(count);
+
+        for (int i = 0; i < count; i++) {
+            int card = drawPile[--remaining];
+            inHand[card]++;
+            inHandTotal++;
+            drawn.add(cards[card]);
+        }
+
+        return drawn;
+    }
+
+    /**
+     * Moves the named cards from the hand to the discard pile. Nothing is moved when any of them is not in hand.
+     */
+    public synchronized void discard(List<String> namesOfCards) {
+        int[] toDiscard = new int[namesOfCards.size()];
+
+        for (int i = 0; i < toDiscard.length; i++) {
+            toDiscard[i] = cardInHand(namesOfCards.get(i), toDiscard, i);
+
+            if (toDiscard[i] < 0)
+                throw new IllegalArgumentException("Card: " + namesOfCards.get(i) + " is not in hand!");
+        }
+
+        for (int card : toDiscard) {
+            inHand[card]--;
+            inHandTotal--;
+            discardPile[discarded++] = card;
+        }
+    }
+
+    /**
+     * Puts the discard pile back under the draw pile and shuffles the whole draw pile.
+     */
+    public synchronized void reshuffle() {
+        System.arraycopy(discardPile, 0, drawPile, remaining, discarded);
+        remaining += discarded;
+        discarded = 0;
+
+        shuffle();
+    }
+
+    public synchronized DeckSessionDTO toDTO() {
+        return new DeckSessionDTO(id, nameOfDeck, remaining, inHandTotal, discarded);
+    }
+
+    /**
+     * Rough footprint of the session, counting the object, its arrays and the random generator but not the shared
+     * {@link Card} instances.
+     */
+    public long estimatedSize() {
+        return 64 + 32 + (16 + 8L * cards.length) + (16 + 4L * drawPile.length) * 2 + (16 + 4L * inHand.length);
+    }
+
+    private int cardInHand(String nameOfCard, int[] alreadyDiscarded, int count) {
+        for (int card = 0; card < cards.length; card++) {
+            if (!Objects.equals(cards[card].getName(), nameOfCard))
+                continue;
+
+            int pending = 0;
+
+            for (int i = 0; i < count; i++) {
+                if (alreadyDiscarded[i] == card)
+                    pending++;
+            }
+
+            if (inHand[card] > pending)
+                return card;
+        }
+
+        return -1;
+    }
+
+    private void shuffle() {
+        for (int i = remaining - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = drawPile[i];
+            drawPile[i] = drawPile[j];
+            drawPile[j] = swap;
+        }
+    }
+}
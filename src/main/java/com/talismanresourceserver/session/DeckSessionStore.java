@@ -0,0 +1,56 @@
+package com.talismanresourceserver.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talismanresourceserver.config.SessionProperties;
+import com.talismanresourceserver.dto.SessionStatisticsDTO;
+import com.talismanresourceserver.model.Deck;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-memory store of the deck sessions. Sessions expire after being idle for the configured time and their number is
+ * bounded, so the memory held by abandoned games is reclaimed without any explicit cleanup.
+ */
+@Component
+public class DeckSessionStore {
+
+    private final Cache<String, DeckSession> sessions;
+
+    public DeckSessionStore(SessionProperties sessionProperties) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(sessionProperties.getMaxSessions())
+                .expireAfterAccess(sessionProperties.getIdleTimeout())
+                .recordStats()
+                .build();
+    }
+
+    public DeckSession create(Deck deck, Long seed) {
+        var random = seed == null ? new SplittableRandom(ThreadLocalRandom.current().nextLong()) : new SplittableRandom(seed);
+        var session = new DeckSession(UUID.randomUUID().toString(), deck, random);
+
+        sessions.put(session.getId(), session);
+
+        return session;
+    }
+
+    public Optional<DeckSession> find(String id) {
+        return Optional.ofNullable(sessions.getIfPresent(id));
+    }
+
+    public void remove(String id) {
+        sessions.invalidate(id);
+    }
+
+    public SessionStatisticsDTO statistics() {
+        return SessionStatisticsDTO.builder()
+                .numberOfSessions(sessions.estimatedSize())
+                .estimatedMemoryBytes(sessions.asMap().values().stream().mapToLong(DeckSession::estimatedSize).sum())
+                .evictionCount(sessions.stats().evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.talismanresourceserver.statistics;
+
+import com.talismanresourceserver.dto.DeckEnemiesStatsDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.type.FightType;
+
+import java.util.stream.Collector;
+
+/**
+ * Collects enemy statistics (count, min, max and sum of fight power per {@link FightType}) in a single
+ * pass over the cards. Accumulators can be combined, so the same class serves a single deck, many decks
+ * and parallel streams. Enemies fought with {@link FightType#SIŁA_MOC} are folded into both strength
+ * and power statistics.
+ */
+public final class EnemyStatsAccumulator {
+
+    private static final int NUMBER_OF_FIGHT_TYPES = FightType.values().length;
+
+    private int numberOfEnemies;
+
+    private final int[] numberOfEnemiesOfType = new int[NUMBER_OF_FIGHT_TYPES];
+    private final int[] numberOfKnownEnemiesOfType = new int[NUMBER_OF_FIGHT_TYPES];
+    private final long[] totalPowerOfType = new long[NUMBER_OF_FIGHT_TYPES];
+    private final int[] minPowerOfType = new int[NUMBER_OF_FIGHT_TYPES];
+    private final int[] maxPowerOfType = new int[NUMBER_OF_FIGHT_TYPES];
+
+    public EnemyStatsAccumulator() {
+        for (int i = 0; i < NUMBER_OF_FIGHT_TYPES; i++) {
+            minPowerOfType[i] = Integer.MAX_VALUE;
+            maxPowerOfType[i] = Integer.MIN_VALUE;
+        }
+    }
+
+    public static Collector<Card, EnemyStatsAccumulator, EnemyStatsAccumulator> collector() {
+        return Collector.of(EnemyStatsAccumulator::new, EnemyStatsAccumulator::accept, EnemyStatsAccumulator::combine);
+    }
+
+    public void accept(Card card) {
+        int copies = card.getNumber_of_copies();
+        numberOfEnemies += copies;
+
+        if (card.getFight_statistic() == null)
+            return;
+
+        int type = card.getFight_statistic().ordinal();
+        numberOfEnemiesOfType[type] += copies;
+
+        // Documents written before the numeric power was introduced still need to be parsed.
+        Integer power = card.getFight_power_value() != null
+                ? card.getFight_power_value()
+                : Card.parseFightPower(card.getFight_power());
+        if (power == null)
+            return;
+
+        numberOfKnownEnemiesOfType[type] += copies;
+        totalPowerOfType[type] += (long) copies * power;
+        minPowerOfType[type] = Math.min(minPowerOfType[type], power);
+        maxPowerOfType[type] = Math.max(maxPowerOfType[type], power);
+    }
+
+    public EnemyStatsAccumulator combine(EnemyStatsAccumulator other) {
+        numberOfEnemies += other.numberOfEnemies;
+
+        for (int i = 0; i < NUMBER_OF_FIGHT_TYPES; i++) {
+            numberOfEnemiesOfType[i] += other.numberOfEnemiesOfType[i];
+            numberOfKnownEnemiesOfType[i] += other.numberOfKnownEnemiesOfType[i];
+            totalPowerOfType[i] += other.totalPowerOfType[i];
+            minPowerOfType[i] = Math.min(minPowerOfType[i], other.minPowerOfType[i]);
+            maxPowerOfType[i] = Math.max(maxPowerOfType[i], other.maxPowerOfType[i]);
+        }
+        return this;
+    }
+
+    public DeckEnemiesStatsDTO toDeckEnemiesStats() {
+        return DeckEnemiesStatsDTO.builder()
+                .numberOfEnemies(numberOfEnemies)
+                .numberOfEnemiesWithStrength(numberOfEnemiesFromType(FightType.SIŁA))
+                .numberOfEnemiesWithPower(numberOfEnemiesFromType(FightType.MOC))
+                .averageEnemyStrength(averageValueFromType(FightType.SIŁA))
+                .maxEnemyStrength(maxValueFromType(FightType.SIŁA))
+                .minEnemyStrength(minValueFromType(FightType.SIŁA))
+                .averageEnemyPower(averageValueFromType(FightType.MOC))
+                .maxEnemyPower(maxValueFromType(FightType.MOC))
+                .minEnemyPower(minValueFromType(FightType.MOC))
+                .build();
+    }
+
+    private int numberOfEnemiesFromType(FightType type) {
+        return numberOfEnemiesOfType[type.ordinal()] + numberOfEnemiesOfType[FightType.SIŁA_MOC.ordinal()];
+    }
+
+    private double averageValueFromType(FightType type) {
+        long numberOfKnownEnemies = numberOfKnownEnemiesOfType[type.ordinal()]
+                + numberOfKnownEnemiesOfType[FightType.SIŁA_MOC.ordinal()];
+
+        if (numberOfKnownEnemies == 0)
+            return 0;
+
+        return (totalPowerOfType[type.ordinal()] + totalPowerOfType[FightType.SIŁA_MOC.ordinal()]) / (double) numberOfKnownEnemies;
+    }
+
+    private int maxValueFromType(FightType type) {
+        int max = Math.max(maxPowerOfType[type.ordinal()], maxPowerOfType[FightType.SIŁA_MOC.ordinal()]);
+
+        return max == Integer.MIN_VALUE ? 0 : max;
+    }
+
+    private int minValueFromType(FightType type) {
+        int min = Math.min(minPowerOfType[type.ordinal()], minPowerOfType[FightType.SIŁA_MOC.ordinal()]);
+
+        return min == Integer.MAX_VALUE ? 0 : min;
+    }
+}
@@ -0,0 +1,168 @@
+package com.talismanresourceserver.statistics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talismanresourceserver.cache.DeckCatalogLoadedEvent;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.dto.FightOddsDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.model.type.CardType;
+import com.talismanresourceserver.model.type.FightType;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Exact odds of a fight against a random enemy of a deck. In Talisman both sides roll one die and add it to their
+ * attack value: the player's Strength against {@code SIŁA} enemies, Power against {@code MOC} enemies and the better
+ * of the two against {@code SIŁA_MOC} enemies. The higher score wins and equal scores are a stand-off.
+ * <p>
+ * The outcome of a single fight only depends on the difference of the two dice, so it is convolved with the enemy
+ * fight power distribution of every fight statistic. Tables for every Strength and Power up to {@link #MAX_STAT} are
+ * computed when the catalog is loaded, and a lookup sums one entry of the Strength, Power and better statistic tables
+ * per outcome. Enemies whose fight power is not a number are left out and only counted.
+ */
+@Component
+public class FightOddsTables {
+
+    public static final int MAX_STAT = 20;
+
+    private static final int DIE_SIDES = 6;
+    private static final int OUTCOMES = DIE_SIDES * DIE_SIDES;
+
+    private static final int WIN = 0;
+    private static final int STAND_OFF = 1;
+    private static final int LOSE = 2;
+
+    private final Cache<String, DeckOdds> tables;
+
+    public FightOddsTables(CacheProperties cacheProperties) {
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .build();
+    }
+
+    @EventListener
+    public void onCatalogLoaded(DeckCatalogLoadedEvent event) {
+        event.decks().forEach(this::oddsOf);
+    }
+
+    public FightOddsDTO lookup(Deck deck, int strength, int power) {
+        if (strength < 0 || strength > MAX_STAT || power < 0 || power > MAX_STAT)
+            throw new IllegalArgumentException("Strength and power must be between 0 and " + MAX_STAT);
+
+        var odds = oddsOf(deck);
+
+        return FightOddsDTO.builder()
+                .nameOfDeck(deck.getNameOfDeck())
+                .strength(strength)
+                .power(power)
+                .winProbability(odds.probability(WIN, strength, power))
+                .standOffProbability(odds.probability(STAND_OFF, strength, power))
+                .loseProbability(odds.probability(LOSE, strength, power))
+                .numberOfEnemies(odds.numberOfEnemies())
+                .numberOfEnemiesWithUnknownPower(odds.numberOfEnemiesWithUnknownPower())
+                .build();
+    }
+
+    private DeckOdds oddsOf(Deck deck) {
+        if (deck.getContentVersion() == null)
+            return DeckOdds.of(deck);
+
+        var cached = tables.getIfPresent(deck.getNameOfDeck());
+
+        if (cached != null && Objects.equals(cached.version(), deck.getContentVersion()))
+            return cached;
+
+        // Only a miss takes the lock of the entry, so concurrent misses for the same version build the tables once.
+        return tables.asMap().compute(deck.getNameOfDeck(), (name, current) ->
+                current != null && Objects.equals(current.version(), deck.getContentVersion()) ? current : DeckOdds.of(deck));
+    }
+
+    /**
+     * Probabilities of the outcomes when the player's attack value exceeds the enemy's by {@code difference}.
+     */
+    static double[] outcomeOfDifference(int difference) {
+        double[] outcome = new double[3];
+
+        for (int playerRoll = 1; playerRoll <= DIE_SIDES; playerRoll++) {
+            for (int enemyRoll = 1; enemyRoll <= DIE_SIDES; enemyRoll++) {
+                int score = difference + playerRoll - enemyRoll;
+                outcome[score > 0 ? WIN : score == 0 ? STAND_OFF : LOSE] += 1.0 / OUTCOMES;
+            }
+        }
+
+        return outcome;
+    }
+
+    /**
+     * {@code byStrength[s]}, {@code byPower[p]} and {@code byBetterStat[max(s, p)]} hold the copy-weighted outcome sums of the
+     * enemies fought with that statistic, so the odds for (s, p) are their sum divided by the number of enemies.
+     */
+    private record DeckOdds(String version, double[][] byStrength, double[][] byPower, double[][] byBetterStat,
+                            int numberOfEnemies, int numberOfEnemiesWithUnknownPower) {
+
+        static DeckOdds of(Deck deck) {
+            var histograms = new EnumMap<FightType, TreeMap<Integer, Integer>>(FightType.class);
+            int enemies = 0;
+            int unknown = 0;
+
+            for (FightType fightType : FightType.values())
+                histograms.put(fightType, new TreeMap<>());
+
+            if (deck.getCards() != null) {
+                for (Card card : deck.getCards()) {
+                    if (card.getType() != CardType.WRÓG || card.getNumber_of_copies() <= 0)
+                        continue;
+
+                    Integer fightPower = card.getFight_power_value() != null
+                            ? card.getFight_power_value()
+                            : Card.parseFightPower(card.getFight_power());
+
+                    if (fightPower == null || card.getFight_statistic() == null) {
+                        unknown += card.getNumber_of_copies();
+                        continue;
+                    }
+
+                    histograms.get(card.getFight_statistic()).merge(fightPower, card.getNumber_of_copies(), Integer::sum);
+                    enemies += card.getNumber_of_copies();
+                }
+            }
+
+            return new DeckOdds(deck.getContentVersion(),
+                    convolve(histograms.get(FightType.SIŁA)),
+                    convolve(histograms.get(FightType.MOC)),
+                    convolve(histograms.get(FightType.SIŁA_MOC)),
+                    enemies, unknown);
+        }
+
+        private static double[][] convolve(Map<Integer, Integer> histogram) {
+            double[][] table = new double[MAX_STAT + 1][3];
+
+            for (int stat = 0; stat <= MAX_STAT; stat++) {
+                for (var entry : histogram.entrySet()) {
+                    double[] outcome = outcomeOfDifference(stat - entry.getKey());
+
+                    for (int result = WIN; result <= LOSE; result++)
+                        table[stat][result] += entry.getValue() * outcome[result];
+                }
+            }
+
+            return table;
+        }
+
+        double probability(int result, int strength, int power) {
+            if (numberOfEnemies == 0)
+                return 0;
+
+            double weighted = byStrength[strength][result] + byPower[power][result] + byBetterStat[Math.max(strength, power)][result];
+
+            return weighted / numberOfEnemies;
+        }
+    }
+}
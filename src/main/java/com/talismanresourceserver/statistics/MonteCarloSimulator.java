@@ -0,0 +1,229 @@
+package com.talismanresourceserver.statistics;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.config.SimulationProperties;
+import com.talismanresourceserver.dto.SimulationResultDTO;
+import com.talismanresourceserver.exception.SimulationRejectedException;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Estimates {@link SimulationQuery} answers by drawing from shuffled copies of a deck. The trials are split between
+ * the workers of a dedicated {@code simulation} scheduler, each with its own {@link SplittableRandom}, so neither the
+ * event loop nor {@link Schedulers#parallel()} is ever busy with them. Every worker stops at the time budget, and the
+ * answer comes with a 95% confidence interval for the trials that were actually run.
+ * <p>
+ * At most {@link SimulationProperties#getMaxConcurrentSimulations()} simulations run at once, any further one is
+ * rejected with a {@link SimulationRejectedException} instead of queueing behind them. Results are cached per deck
+ * content version and query, except those cut short by the time budget.
+ */
+@Component
+public class MonteCarloSimulator implements DisposableBean {
+
+    private static final double CONFIDENCE_LEVEL = 0.95;
+    private static final double Z = 1.959963984540054;
+
+    // The clock is read once per this many trials.
+    private static final int TRIALS_PER_CHECK = 1024;
+
+    private final AsyncCache<Key, SimulationResultDTO> results;
+    private final Scheduler scheduler;
+    private final Semaphore permits;
+    private final int workers;
+    private final int maxConcurrentSimulations;
+
+    public MonteCarloSimulator(CacheProperties cacheProperties, SimulationProperties simulationProperties) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaxSize())
+                .expireAfterWrite(cacheProperties.getTtl())
+                .buildAsync();
+        this.workers = simulationProperties.getWorkers();
+        this.maxConcurrentSimulations = simulationProperties.getMaxConcurrentSimulations();
+        this.scheduler = Schedulers.newParallel("simulation", workers, true);
+        this.permits = new Semaphore(maxConcurrentSimulations);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    public Mono<SimulationResultDTO> simulate(Deck deck, SimulationQuery query) {
+        if (deck.getContentVersion() == null)
+            return run(deck, query);
+
+        var key = new Key(deck.getNameOfDeck(), deck.getContentVersion(), query);
+
+        return Mono.defer(() -> {
+            var result = results.get(key, (ignored, executor) -> run(deck, query).toFuture());
+
+            // A result cut short by the budget would otherwise stand in for a complete one until it expires.
+            return Mono.fromFuture(result, true)
+                    .doOnNext(simulation -> {
+                        if (simulation.isBudgetExhausted())
+                            results.asMap().remove(key, result);
+                    });
+        });
+    }
+
+    private Mono<SimulationResultDTO> run(Deck deck, SimulationQuery query) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire())
+                return Mono.error(SimulationRejectedException.forDeck(deck.getNameOfDeck(), maxConcurrentSimulations));
+
+            return simulateTrials(deck, query).doFinally(signal -> permits.release());
+        });
+    }
+
+    private Mono<SimulationResultDTO> simulateTrials(Deck deck, SimulationQuery query) {
+        return Mono.defer(() -> {
+            int[] copies = expand(deck, query);
+            int draws = Math.min(query.draws(), copies.length);
+            long started = System.nanoTime();
+            long deadline = started + query.budget().toNanos();
+
+            var root = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+            var randoms = new SplittableRandom[workers];
+
+            for (int worker = 0; worker < workers; worker++)
+                randoms[worker] = root.split();
+
+            return Flux.range(0, workers)
+                    .parallel(workers)
+                    .runOn(scheduler)
+                    .map(worker -> runTrials(copies, draws, query.isProbability(),
+                            trialsOf(query.trials(), workers, worker), randoms[worker], deadline))
+                    .sequential()
+                    .reduce(Tally::combine)
+                    .map(tally -> toResult(deck, query, draws, tally, started));
+        });
+    }
+
+    /**
+     * Every copy of a card becomes one element, 1 when the card is what the query counts and 0 otherwise.
+     */
+    private static int[] expand(Deck deck, SimulationQuery query) {
+        if (deck.getCards() == null)
+            return new int[0];
+
+        int size = deck.getCards().stream().mapToInt(card -> Math.max(card.getNumber_of_copies(), 0)).sum();
+        int[] copies = new int[size];
+        int position = 0;
+
+        for (Card card : deck.getCards()) {
+            int value = query.matches(card) ? 1 : 0;
+
+            for (int copy = 0; copy < card.getNumber_of_copies(); copy++)
+                copies[position++] = value;
+        }
+
+        return copies;
+    }
+
+    private static long trialsOf(long trials, int workers, int worker) {
+        return trials / workers + (worker < trials % workers ? 1 : 0);
+    }
+
+    private static Tally runTrials(int[] copies, int draws, boolean probability, long target,
+                                   SplittableRandom random, long deadline) {
+        int[] deck = copies.clone();
+        var tally = new Tally();
+
+        while (tally.trials < target) {
+            if (tally.trials > 0 && tally.trials % TRIALS_PER_CHECK == 0 && System.nanoTime() > deadline) {
+                tally.budgetExhausted = true;
+                break;
+            }
+
+            // A partial Fisher-Yates shuffle of any permutation draws uniformly, so the array is never reset.
+            int hits = 0;
+
+            for (int i = 0; i < draws; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                int swap = deck[i];
+                deck[i] = deck[j];
+                deck[j] = swap;
+                hits += deck[i];
+
+                if (probability && hits > 0)
+                    break;
+            }
+
+            double value = probability ? Math.min(hits, 1) : hits;
+            tally.sum += value;
+            tally.sumOfSquares += value * value;
+            tally.trials++;
+        }
+
+        return tally;
+    }
+
+    private static SimulationResultDTO toResult(Deck deck, SimulationQuery query, int draws, Tally tally, long started) {
+        double n = tally.trials;
+        double mean = tally.sum / n;
+        double lowerBound;
+        double upperBound;
+
+        if (query.isProbability()) {
+            // Wilson score interval, which stays inside [0, 1] even for probabilities close to the bounds.
+            double denominator = 1 + Z * Z / n;
+            double center = (mean + Z * Z / (2 * n)) / denominator;
+            double halfWidth = Z * Math.sqrt(mean * (1 - mean) / n + Z * Z / (4 * n * n)) / denominator;
+
+            lowerBound = Math.max(0, center - halfWidth);
+            upperBound = Math.min(1, center + halfWidth);
+        } else {
+            double variance = n > 1 ? Math.max(0, (tally.sumOfSquares - n * mean * mean) / (n - 1)) : 0;
+            double halfWidth = Z * Math.sqrt(variance / n);
+
+            lowerBound = Math.max(0, mean - halfWidth);
+            upperBound = mean + halfWidth;
+        }
+
+        return SimulationResultDTO.builder()
+                .nameOfDeck(deck.getNameOfDeck())
+                .question(query.describe())
+                .draws(draws)
+                .trials(tally.trials)
+                .estimate(mean)
+                .lowerBound(lowerBound)
+                .upperBound(upperBound)
+                .confidenceLevel(CONFIDENCE_LEVEL)
+                .budgetExhausted(tally.budgetExhausted)
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - started).toMillis())
+                .build();
+    }
+
+    private static final class Tally {
+
+        private long trials;
+        private double sum;
+        private double sumOfSquares;
+        private boolean budgetExhausted;
+
+        Tally combine(Tally other) {
+            trials += other.trials;
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+            budgetExhausted |= other.budgetExhausted;
+
+            return this;
+        }
+    }
+
+    private record Key(String nameOfDeck, String version, SimulationQuery query) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.talismanresourceserver.statistics;
+
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.type.CardType;
+
+import java.time.Duration;
+
+/**
+ * Question answered by {@link MonteCarloSimulator} about the next {@code draws} cards of a freshly shuffled deck.
+ * With {@code minPower} it is the probability of meeting at least one enemy of at least that fight power; with
+ * {@code type} it is the expected number of cards of that type.
+ */
+public record SimulationQuery(int draws, Integer minPower, CardType type, long trials, Duration budget) {
+
+    public SimulationQuery {
+        if ((minPower == null) == (type == null))
+            throw new IllegalArgumentException("Exactly one of minPower and type must be given");
+        if (draws <= 0)
+            throw new IllegalArgumentException("The number of draws must be positive");
+        if (trials <= 0)
+            throw new IllegalArgumentException("The number of trials must be positive");
+    }
+
+    boolean isProbability() {
+        return minPower != null;
+    }
+
+    boolean matches(Card card) {
+        if (type != null)
+            return card.getType() == type;
+
+        Integer power = card.getFight_power_value() != null
+                ? card.getFight_power_value()
+                : Card.parseFightPower(card.getFight_power());
+
+        return card.getType() == CardType.WRÓG && power != null && power >= minPower;
+    }
+
+    String describe() {
+        return isProbability()
+                ? "P(enemy with fight power >= " + minPower + " in " + draws + " draws)"
+                : "E(number of " + type + " cards in " + draws + " draws)";
+    }
+}
@@ -0,0 +1,92 @@
+package com.talismanresourceserver.integration.controller;
+
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.config.SecurityConfig;
+import com.talismanresourceserver.controller.AdminController;
+import com.talismanresourceserver.dto.RecordingDTO;
+import com.talismanresourceserver.jfr.FlightRecordings;
+import com.talismanresourceserver.repository.QueryPlanVerifier;
+import com.talismanresourceserver.service.CardLookupBatcher;
+import com.talismanresourceserver.session.DeckSessionStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(controllers = AdminController.class)
+@Import(SecurityConfig.class)
+public class AdminControllerWebOnlyTests {
+
+    @MockBean
+    private DeckCache deckCache;
+
+    @MockBean
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @MockBean
+    private CardLookupBatcher cardLookupBatcher;
+
+    @MockBean
+    private DeckSessionStore deckSessionStore;
+
+    @MockBean
+    private FlightRecordings flightRecordings;
+
+    @MockBean
+    private ReactiveJwtDecoder jwtDecoder;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @WithMockUser
+    void shouldForbidStartingRecordingWithoutAdminAuthority() {
+
+        webTestClient.post()
+                .uri("/api/admin/recording")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verify(flightRecordings, never()).start(any(), anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldForbidDownloadingRecordingWithoutAdminAuthority() {
+
+        webTestClient.get()
+                .uri("/api/admin/recording/file")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verify(flightRecordings, never()).download();
+    }
+
+    @Test
+    @WithMockUser(authorities = SecurityConfig.ADMIN_AUTHORITY)
+    void shouldReturnRecordingToAdmin() {
+
+        given(flightRecordings.status())
+                .willReturn(Optional.of(RecordingDTO.builder().id(1).state("RUNNING").build()));
+
+        webTestClient.get()
+                .uri("/api/admin/recording")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.state").isEqualTo("RUNNING");
+    }
+
+}
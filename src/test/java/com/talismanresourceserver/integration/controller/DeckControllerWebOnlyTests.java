@@ -1,7 +1,11 @@
 package com.talismanresourceserver.integration.controller;
 
+import com.talismanresourceserver.cache.DeckPayloadCache;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.config.WebConfig;
 import com.talismanresourceserver.controller.DeckController;
 import com.talismanresourceserver.controller.DeckStatisticsController;
+import com.talismanresourceserver.dto.DeckIndexDTO;
 import com.talismanresourceserver.model.Card;
 import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
@@ -14,18 +18,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebFlux;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 @WebFluxTest(controllers = DeckController.class)
+@Import({DeckPayloadCache.class, CacheProperties.class})
 public class DeckControllerWebOnlyTests{
 
     @MockBean
@@ -60,6 +73,39 @@ public class DeckControllerWebOnlyTests{
                 });
     }
 
+    @Test
+    @WithMockUser
+    void shouldLeaveDescriptionsOutOfDeckSummaries() {
+        var summary = Deck.builder().nameOfDeck("first-deck").cards(List.of(
+                Card.builder().name("place").type(CardType.MIEJSCE).number_of_copies(2).build()
+        )).build();
+
+        given(cardService.getDeckSummaries()).willReturn(Flux.just(summary));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/decks").queryParam("view", "summary").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].cards[0].name").isEqualTo("place")
+                .jsonPath("$[0].cards[0].description").doesNotExist();
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnDeckIndex() {
+        var index = List.of(new DeckIndexDTO("first-deck", 10, 4), new DeckIndexDTO("second-deck", 3, 3));
+
+        given(cardService.getDeckIndex()).willReturn(Flux.fromIterable(index));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/decks").queryParam("view", "index").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(DeckIndexDTO.class)
+                .isEqualTo(index);
+    }
+
     @Test
     @WithMockUser
     void shouldReturnDeckByName() {
@@ -80,6 +126,71 @@ public class DeckControllerWebOnlyTests{
                 });
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturnGzipDeckWhenAccepted() {
+        var deck = Deck.builder().nameOfDeck("test-deck").contentVersion("v1").build();
+
+        given(cardService.getDeckByNameOfDeck("test-deck")).willReturn(Mono.just(deck));
+
+        webTestClient.get()
+                .uri("/api/decks/test-deck")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1-gzip\"")
+                .expectBody(byte[].class)
+                .consumeWith(response -> {
+                    Assertions.assertThat(response.getResponseHeaders().getVary())
+                            .containsExactlyInAnyOrder(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+                    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getResponseBody()))) {
+                        Assertions.assertThat(new String(gzip.readAllBytes())).contains("\"test-deck\"");
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnNotModifiedWhenDeckVersionMatches() {
+        var deck = Deck.builder().nameOfDeck("test-deck").contentVersion("v1").build();
+
+        given(cardService.getDeckByNameOfDeck("test-deck")).willReturn(Mono.just(deck));
+
+        webTestClient.get()
+                .uri("/api/decks/test-deck")
+                .header("If-None-Match", "\"v1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    void shouldNotMatchJsonVersionForCborDeck() {
+        var deck = Deck.builder().nameOfDeck("test-deck").contentVersion("v1").build();
+
+        given(cardService.getDeckByNameOfDeck("test-deck")).willReturn(Mono.just(deck));
+
+        webTestClient.get()
+                .uri("/api/decks/test-deck")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", "\"v1\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1-cbor\"");
+
+        webTestClient.get()
+                .uri("/api/decks/test-deck")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", "\"v1-cbor\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
     @Test
     @WithMockUser
     void shouldReturnCardFromDeckByName() {
@@ -129,6 +240,68 @@ public class DeckControllerWebOnlyTests{
                 });
     }
 
+    @Test
+    @WithMockUser
+    void shouldReturnCardsOfTypeFromDeckAsSmile() {
+
+        var cards = List.of(
+                Card.builder().name("follower-one").type(CardType.PRZYJACIEL).build(),
+                Card.builder().name("follower-two").type(CardType.PRZYJACIEL).build()
+        );
+
+        given(cardService.getCardsFromTypeInDeck(anyString(), eq(CardType.PRZYJACIEL)))
+                .willReturn(Flux.fromIterable(cards));
+
+        webTestClient.get()
+                .uri(uriBuilder ->
+                        uriBuilder.path("/api/decks/test").queryParam("type", CardType.PRZYJACIEL).build())
+                .accept(MediaType.parseMediaType(WebConfig.APPLICATION_SMILE_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .consumeWith(response -> {
+                    try {
+                        var body = Jackson2ObjectMapperBuilder.smile().build()
+                                .readValue(response.getResponseBody(), Card[].class);
+
+                        Assertions.assertThat(body).containsExactlyElementsOf(cards);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnCardsOfTypeFromDeckAsCbor() {
+
+        var cards = List.of(
+                Card.builder().name("follower-one").type(CardType.PRZYJACIEL).build(),
+                Card.builder().name("follower-two").type(CardType.PRZYJACIEL).build()
+        );
+
+        given(cardService.getCardsFromTypeInDeck(anyString(), eq(CardType.PRZYJACIEL)))
+                .willReturn(Flux.fromIterable(cards));
+
+        webTestClient.get()
+                .uri(uriBuilder ->
+                        uriBuilder.path("/api/decks/test").queryParam("type", CardType.PRZYJACIEL).build())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .consumeWith(response -> {
+                    try {
+                        var body = Jackson2ObjectMapperBuilder.cbor().build()
+                                .readValue(response.getResponseBody(), Card[].class);
+
+                        Assertions.assertThat(body).containsExactlyElementsOf(cards);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+    }
+
     @Test
     @WithMockUser
     void shouldReturnEnemies() {
@@ -153,4 +326,30 @@ public class DeckControllerWebOnlyTests{
                     Assertions.assertThat(body).containsAll(cards);
                 });
     }
+
+    @Test
+    @WithMockUser
+    void shouldStreamEnemiesAsNdjson() {
+        var cards = List.of(
+                Card.builder().name("enemy-one").type(CardType.WRÓG).fight_statistic(FightType.MOC).build(),
+                Card.builder().name("enemy-two").type(CardType.WRÓG).fight_statistic(FightType.MOC).build()
+        );
+
+        given(cardService.streamEnemiesFromDeckByStatisticType(anyString(), eq(FightType.MOC)))
+                .willReturn(Flux.fromIterable(cards));
+
+        var result = webTestClient.get()
+                .uri("/api/decks/test/enemies/MOC")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Card.class)
+                .getResponseBody();
+
+        StepVerifier.create(result)
+                .expectNext(cards.get(0))
+                .expectNext(cards.get(1))
+                .verifyComplete();
+    }
 }
@@ -3,15 +3,20 @@ package com.talismanresourceserver.integration.controller;
 import com.talismanresourceserver.controller.DeckStatisticsController;
 import com.talismanresourceserver.dto.DeckStatisticsDTO;
 import com.talismanresourceserver.service.StatisticsService;
+import com.talismanresourceserver.service.StatisticsService.CatalogStatistics;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 
@@ -31,11 +36,13 @@ public class DeckStatisticControllerWebOnlyTests {
         DeckStatisticsDTO statistics = DeckStatisticsDTO.builder(3).numberOfEnemies(2).numberOfEvents(1).build();
 
         given(statisticsService.getAllStatsFromDeck(anyString())).willReturn(Mono.just(statistics));
+        given(statisticsService.getDeckVersion(anyString())).willReturn(Mono.just("v1"));
 
         webTestClient.get()
                 .uri("/api/statistics/all/deck")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"v1\"")
                 .expectBody(DeckStatisticsDTO.class)
                 .consumeWith(response -> {
                     var body = response.getResponseBody();
@@ -45,4 +52,67 @@ public class DeckStatisticControllerWebOnlyTests {
                 });
     }
 
+    @Test
+    @WithMockUser
+    void shouldTagCatalogStatisticsWithTheirOwnVersion() {
+
+        DeckStatisticsDTO statistics = DeckStatisticsDTO.builder(5).numberOfEnemies(3).build();
+
+        given(statisticsService.getAllStats()).willReturn(Mono.just(new CatalogStatistics("v2", statistics)));
+
+        webTestClient.get()
+                .uri("/api/statistics/all")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"v2\"")
+                .expectBody(DeckStatisticsDTO.class)
+                .isEqualTo(statistics);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnNotModifiedWhenDeckVersionMatches() {
+
+        given(statisticsService.getAllStatsFromDeck(anyString()))
+                .willReturn(Mono.just(DeckStatisticsDTO.builder(3).build()));
+        given(statisticsService.getDeckVersion(anyString())).willReturn(Mono.just("v1"));
+
+        webTestClient.get()
+                .uri("/api/statistics/all/deck")
+                .header("If-None-Match", "\"v1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnDeckStatisticsAsCbor() {
+
+        DeckStatisticsDTO statistics = DeckStatisticsDTO.builder(3).numberOfEnemies(2).numberOfEvents(1).build();
+
+        given(statisticsService.getAllStatsFromDeck(anyString())).willReturn(Mono.just(statistics));
+        given(statisticsService.getDeckVersion(anyString())).willReturn(Mono.just("v1"));
+
+        webTestClient.get()
+                .uri("/api/statistics/all/deck")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", "\"v1\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().valueEquals("ETag", "\"v1-cbor\"")
+                .expectBody(byte[].class)
+                .consumeWith(response -> {
+                    try {
+                        var body = Jackson2ObjectMapperBuilder.cbor().build()
+                                .readValue(response.getResponseBody(), DeckStatisticsDTO.class);
+
+                        Assertions.assertThat(body).isEqualTo(statistics);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+    }
+
 }
@@ -0,0 +1,280 @@
+package com.talismanresourceserver.integration.load;
+
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.model.type.CardType;
+import com.talismanresourceserver.model.type.FightType;
+import com.talismanresourceserver.repository.DeckRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the deck and statistics endpoints of a running application backed by a MongoDB container and reports
+ * throughput and latency percentiles per endpoint. Excluded from {@code test}, run it with {@code ./gradlew loadTest}.
+ * <p>
+ * Every setting can be overridden with {@code -Pload.<name>=<value>}, e.g. {@code -Pload.concurrency=128}. Histograms
+ * are written to {@code build/load-test/<endpoint>.hgrm} in the HdrHistogram percentile distribution format.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+public class CatalogLoadTests {
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:latest");
+
+    static {
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    private static final int DECKS = Integer.getInteger("load.decks", 20);
+    private static final int CARDS_PER_DECK = Integer.getInteger("load.cards-per-deck", 200);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("load.warmup-requests", 2_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final String MIX = System.getProperty("load.mix",
+            "deck:4,card:4,cards-of-type:2,enemies:2,unique-stats:2,all-stats:1,enemy-stats:1,fight-odds:2");
+
+    private static final double MIN_THROUGHPUT = Double.parseDouble(System.getProperty("load.min-throughput", "100"));
+    private static final long MAX_P99_MILLIS = Long.getLong("load.max-p99-millis", 500);
+    private static final long MAX_P999_MILLIS = Long.getLong("load.max-p999-millis", 2_000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0"));
+
+    private static final Path REPORT_DIRECTORY = Path.of("build", "load-test");
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private DeckCache deckCache;
+
+    @LocalServerPort
+    private int port;
+
+    private WebClient webClient;
+
+    private record Request(String endpoint, String uri, Object... variables) {
+    }
+
+    private static final class EndpointResults {
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final AtomicLong errors = new AtomicLong();
+    }
+
+    @BeforeEach
+    void seedCatalog() {
+        deckRepository.deleteAll()
+                .thenMany(deckRepository.saveAll(generateCatalog()))
+                .then(deckCache.refresh())
+                .block();
+
+        webClient = WebClient.create("http://localhost:" + port);
+    }
+
+    @Test
+    void shouldServeCatalogWithinThresholds() throws IOException {
+        var random = new SplittableRandom(SEED);
+        var mix = parseMix(MIX);
+
+        run(plan(mix, WARMUP_REQUESTS, random), new LinkedHashMap<>());
+
+        var results = new LinkedHashMap<String, EndpointResults>();
+        mix.keySet().forEach(endpoint -> results.put(endpoint, new EndpointResults()));
+
+        long start = System.nanoTime();
+        run(plan(mix, REQUESTS, random), results);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(results, seconds);
+
+        long errors = results.values().stream().mapToLong(result -> result.errors.get()).sum();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(REQUESTS / seconds).as("throughput [req/s]").isGreaterThanOrEqualTo(MIN_THROUGHPUT);
+            softly.assertThat((double) errors / REQUESTS).as("error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+
+            results.forEach((endpoint, result) -> {
+                softly.assertThat(millis(result.latencies.getValueAtPercentile(99.0)))
+                        .as("%s p99 [ms]", endpoint).isLessThanOrEqualTo(MAX_P99_MILLIS);
+                softly.assertThat(millis(result.latencies.getValueAtPercentile(99.9)))
+                        .as("%s p99.9 [ms]", endpoint).isLessThanOrEqualTo(MAX_P999_MILLIS);
+            });
+        });
+    }
+
+    private void run(List<Request> requests, Map<String, EndpointResults> results) {
+        Flux.fromIterable(requests)
+                .flatMap(request -> send(request, results.get(request.endpoint())), CONCURRENCY)
+                .blockLast();
+    }
+
+    private Mono<Void> send(Request request, EndpointResults results) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+
+            return webClient.get()
+                    .uri(request.uri(), request.variables())
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().is2xxSuccessful()))
+                    .onErrorReturn(false)
+                    .doOnNext(success -> {
+                        if (results == null)
+                            return;
+
+                        results.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+
+                        if (!success)
+                            results.errors.incrementAndGet();
+                    })
+                    .then();
+        });
+    }
+
+    // The whole plan is drawn up front from a seeded random, so every run sends the same requests.
+    private static List<Request> plan(Map<String, Integer> mix, int numberOfRequests, SplittableRandom random) {
+        var endpoints = new ArrayList<String>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++)
+                endpoints.add(endpoint);
+        });
+
+        var requests = new ArrayList<Request>(numberOfRequests);
+
+        for (int i = 0; i < numberOfRequests; i++) {
+            var endpoint = endpoints.get(random.nextInt(endpoints.size()));
+            var deck = nameOfDeck(random.nextInt(DECKS));
+
+            requests.add(switch (endpoint) {
+                case "deck" -> new Request(endpoint, "/api/decks/{deck}", deck);
+                case "card" -> new Request(endpoint, "/api/decks/{deck}/{card}", deck,
+                        nameOfCard(random.nextInt(CARDS_PER_DECK)));
+                case "cards-of-type" -> new Request(endpoint, "/api/decks/{deck}?type={type}", deck,
+                        CardType.values()[random.nextInt(CardType.values().length)]);
+                case "enemies" -> new Request(endpoint, "/api/decks/{deck}/enemies?minPower={power}", deck,
+                        random.nextInt(1, 9));
+                case "unique-stats" -> new Request(endpoint, "/api/statistics/unique/{deck}", deck);
+                case "all-stats" -> new Request(endpoint, "/api/statistics/all");
+                case "enemy-stats" -> new Request(endpoint, "/api/statistics/all/{deck}/enemies", deck);
+                case "fight-odds" -> new Request(endpoint, "/api/statistics/{deck}/fight-odds?strength={strength}&power={power}",
+                        deck, random.nextInt(1, 11), random.nextInt(1, 11));
+                default -> throw new IllegalArgumentException("Unknown endpoint in load.mix: " + endpoint);
+            });
+        }
+
+        return requests;
+    }
+
+    private static void report(Map<String, EndpointResults> results, double seconds) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+
+        System.out.printf("%nLoad test: %d requests, concurrency %d, %d decks of %d cards, %.1f s, %.1f req/s%n",
+                REQUESTS, CONCURRENCY, DECKS, CARDS_PER_DECK, seconds, REQUESTS / seconds);
+        System.out.printf("%-14s %8s %8s %10s %10s %10s %10s %8s%n",
+                "endpoint", "count", "req/s", "p50 [ms]", "p99 [ms]", "p99.9 [ms]", "max [ms]", "errors");
+
+        for (var entry : results.entrySet()) {
+            var latencies = entry.getValue().latencies;
+
+            System.out.printf("%-14s %8d %8.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    entry.getKey(),
+                    latencies.getTotalCount(),
+                    latencies.getTotalCount() / seconds,
+                    millis(latencies.getValueAtPercentile(50.0)),
+                    millis(latencies.getValueAtPercentile(99.0)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()),
+                    entry.getValue().errors.get());
+
+            try (var out = new PrintStream(Files.newOutputStream(REPORT_DIRECTORY.resolve(entry.getKey() + ".hgrm")))) {
+                latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        var weights = new LinkedHashMap<String, Integer>();
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+
+        return weights;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static List<Deck> generateCatalog() {
+        var random = new SplittableRandom(SEED);
+        var types = CardType.values();
+        var fightTypes = FightType.values();
+        var decks = new ArrayList<Deck>(DECKS);
+
+        for (int d = 0; d < DECKS; d++) {
+            var cards = new ArrayList<Card>(CARDS_PER_DECK);
+
+            for (int c = 0; c < CARDS_PER_DECK; c++) {
+                var type = types[random.nextInt(types.length)];
+                var enemy = type == CardType.WRÓG;
+                var card = Card.builder()
+                        .name(nameOfCard(c))
+                        .type(type)
+                        .subtype(enemy ? "Potwór" : "Zwykła")
+                        .fight_statistic(enemy ? fightTypes[random.nextInt(fightTypes.length)] : null)
+                        .fight_power(enemy ? String.valueOf(random.nextInt(1, 9)) : null)
+                        .meeting_number(random.nextInt(1, 7))
+                        .number_of_copies(random.nextInt(1, 4))
+                        .description("Opis karty " + c + ", która zajmuje trochę miejsca jak prawdziwy tekst z gry.")
+                        .build();
+
+                card.resolveFightPower();
+                cards.add(card);
+            }
+
+            decks.add(Deck.builder().nameOfDeck(nameOfDeck(d)).cards(cards).build());
+        }
+
+        return decks;
+    }
+
+    private static String nameOfDeck(int index) {
+        return "load-deck-" + index;
+    }
+
+    private static String nameOfCard(int index) {
+        return "Karta " + index;
+    }
+}
@@ -1,11 +1,13 @@
 package com.talismanresourceserver.integration.repository;
 
+import com.talismanresourceserver.dto.DeckIndexDTO;
 import com.talismanresourceserver.model.Card;
 import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import com.talismanresourceserver.repository.DeckRepository;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,15 +41,23 @@ public class DeckRepositoryTests {
     private static List<Deck> decks;
     private static Card enemyCard;
     private static Card placeCard;
+    private static Deck describedDeck;
 
     @BeforeAll
     static void load() {
-         enemyCard = Card.builder().name("enemy").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).build();
+         enemyCard = Card.builder().name("enemy").type(CardType.WRÓG).fight_statistic(FightType.SIŁA)
+                 .fight_power("3").fight_power_value(3).build();
          placeCard = Card.builder().name("place").type(CardType.MIEJSCE).build();
 
         decks = List.of(Deck.builder().nameOfDeck("test-name-one").cards(List.of(enemyCard, placeCard)).build(),
                 Deck.builder().nameOfDeck("test-name-two").cards(List.of(enemyCard, placeCard)).build());
 
+        // Saved only by the projection tests, which need copies and descriptions.
+        describedDeck = Deck.builder().nameOfDeck("test-name-described").cards(List.of(
+                Card.builder().name("described-enemy").type(CardType.WRÓG).number_of_copies(3).description("enemy description").build(),
+                Card.builder().name("described-place").type(CardType.MIEJSCE).number_of_copies(2).description("place description").build()
+        )).build();
+
 
     }
 
@@ -56,6 +66,12 @@ public class DeckRepositoryTests {
         deckRepository.saveAll(decks).collectList().block();
     }
 
+    @AfterEach
+    void deleteDescribedDeck() {
+        if (describedDeck.getId() != null)
+            deckRepository.delete(describedDeck).block();
+    }
+
     @Test
     void shouldGetRepositories() {
         Assertions.assertThat(deckRepository.findAll().toIterable()).hasSize(2);
@@ -89,4 +105,57 @@ public class DeckRepositoryTests {
         Assertions.assertThat(enemiesWithStrength.size()).isEqualTo(1);
         Assertions.assertThat(enemiesWithStrength.get(0)).isEqualTo(enemyCard);
     }
+
+    @Test
+    void shouldReturnEnemiesFromDeckByFightPower() {
+        var enemies = deckRepository.findEnemiesInDeckByFightPower("test-name-one", 2, 4, List.of(FightType.SIŁA)).block().getCards();
+
+        Assertions.assertThat(enemies).containsExactly(enemyCard);
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoEnemyInFightPowerRange() {
+        Assertions.assertThat(deckRepository.findEnemiesInDeckByFightPower("test-name-one", 4, 10, List.of(FightType.values())).block()).isNull();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoEnemyOfFightStatisticInFightPowerRange() {
+        Assertions.assertThat(deckRepository.findEnemiesInDeckByFightPower("test-name-one", 2, 4, List.of(FightType.MOC)).block()).isNull();
+    }
+
+    @Test
+    void shouldReturnRequestedCardsInDeck() {
+        var cards = deckRepository.findCardsInDeck("test-name-one", List.of("enemy", "missing")).block().getCards();
+
+        Assertions.assertThat(cards).containsExactly(enemyCard);
+    }
+
+    @Test
+    void shouldStreamCardsOfTypeInDeck() {
+        Assertions.assertThat(deckRepository.streamCardsOfTypeInDeck("test-name-one", CardType.MIEJSCE).toIterable())
+                .containsExactly(placeCard);
+    }
+
+    @Test
+    void shouldReturnDeckSummaryWithoutDescriptions() {
+        deckRepository.save(describedDeck).block();
+
+        var summary = deckRepository.findDeckSummaryByNameOfDeck("test-name-described").block();
+
+        Assertions.assertThat(summary).isNotNull();
+        Assertions.assertThat(summary.getCards()).hasSize(2);
+        Assertions.assertThat(summary.getCards()).allSatisfy(card -> Assertions.assertThat(card.getDescription()).isNull());
+    }
+
+    @Test
+    void shouldReturnDeckIndex() {
+        deckRepository.save(describedDeck).block();
+
+        var index = deckRepository.findDeckIndex().collectList().block();
+
+        Assertions.assertThat(index).containsExactlyInAnyOrder(
+                new DeckIndexDTO("test-name-one", 0, 2),
+                new DeckIndexDTO("test-name-two", 0, 2),
+                new DeckIndexDTO("test-name-described", 5, 2));
+    }
 }
@@ -0,0 +1,55 @@
+package com.talismanresourceserver.integration.repository;
+
+import com.talismanresourceserver.config.IndexProperties;
+import com.talismanresourceserver.dto.QueryPlanDTO;
+import com.talismanresourceserver.migration.DeckIndexInitializer;
+import com.talismanresourceserver.repository.QueryPlanVerifier;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataMongoTest
+@Testcontainers
+@Import({QueryPlanVerifier.class, DeckIndexInitializer.class})
+public class QueryPlanVerifierTests {
+
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:latest");
+
+    static {
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(IndexProperties.class)
+    static class Config {
+    }
+
+    @Autowired
+    private DeckIndexInitializer deckIndexInitializer;
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @Test
+    void shouldNotScanCollectionAfterIndexesAreCreated() {
+        deckIndexInitializer.run(null);
+
+        var plans = queryPlanVerifier.verify().collectList().block();
+
+        Assertions.assertThat(plans).isNotEmpty();
+        Assertions.assertThat(plans).noneMatch(QueryPlanDTO::isCollectionScan);
+    }
+}
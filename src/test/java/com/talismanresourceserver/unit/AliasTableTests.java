@@ -0,0 +1,44 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.draw.AliasTable;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+public class AliasTableTests {
+
+    @Test
+    void shouldSampleProportionallyToWeights() {
+        var aliasTable = new AliasTable(new int[]{1, 3, 0, 6});
+        var random = new SplittableRandom(42);
+        int samples = 200_000;
+        int[] counts = new int[4];
+
+        for (int i = 0; i < samples; i++)
+            counts[aliasTable.sample(random)]++;
+
+        Assertions.assertThat((double) counts[0] / samples).isCloseTo(0.1, Offset.offset(0.01));
+        Assertions.assertThat((double) counts[1] / samples).isCloseTo(0.3, Offset.offset(0.01));
+        Assertions.assertThat(counts[2]).isZero();
+        Assertions.assertThat((double) counts[3] / samples).isCloseTo(0.6, Offset.offset(0.01));
+    }
+
+    @Test
+    void shouldAlwaysSampleSingleOutcome() {
+        var aliasTable = new AliasTable(new int[]{5});
+        var random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100; i++)
+            Assertions.assertThat(aliasTable.sample(random)).isZero();
+    }
+
+    @Test
+    void shouldRejectWeightsWithoutPositiveValue() {
+        Assertions.assertThatThrownBy(() -> new AliasTable(new int[]{0, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> new AliasTable(new int[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.config.BatchingProperties;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.repository.DeckRepository;
+import com.talismanresourceserver.service.CardLookupBatcher;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class CardLookupBatcherTests {
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    private CardLookupBatcher cardLookupBatcher;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new BatchingProperties();
+        properties.setEnabled(true);
+        properties.setWindow(Duration.ofMillis(50));
+        properties.setMaxSize(3);
+
+        cardLookupBatcher = new CardLookupBatcher(deckRepository, properties);
+    }
+
+    @Test
+    void shouldResolveConcurrentLookupsWithSingleQuery() {
+        var card_one = Card.builder().name("card-one").build();
+        var card_two = Card.builder().name("card-two").build();
+
+        given(deckRepository.findCardsInDeck(eq("deck"), anyCollection()))
+                .willReturn(Mono.just(Deck.builder().cards(List.of(card_one, card_two)).build()));
+
+        var result = Mono.zip(
+                cardLookupBatcher.getCardFromDeckByName("deck", "card-one"),
+                cardLookupBatcher.getCardFromDeckByName("deck", "card-two"),
+                cardLookupBatcher.getCardFromDeckByName("deck", "card-missing").defaultIfEmpty(Card.builder().build()));
+
+        StepVerifier.create(result)
+                .consumeNextWith(cards -> {
+                    Assertions.assertThat(cards.getT1()).isEqualTo(card_one);
+                    Assertions.assertThat(cards.getT2()).isEqualTo(card_two);
+                    Assertions.assertThat(cards.getT3().getName()).isNull();
+                })
+                .verifyComplete();
+
+        verify(deckRepository, times(1)).findCardsInDeck("deck", Set.of("card-one", "card-two", "card-missing"));
+        Assertions.assertThat(cardLookupBatcher.statistics().getMaxBatchSize()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFlushAfterWindow() {
+        var card = Card.builder().name("card").build();
+
+        given(deckRepository.findCardsInDeck(eq("deck"), anyCollection()))
+                .willReturn(Mono.just(Deck.builder().cards(List.of(card)).build()));
+
+        StepVerifier.create(cardLookupBatcher.getCardFromDeckByName("deck", "card"))
+                .expectNext(card)
+                .verifyComplete();
+
+        Assertions.assertThat(cardLookupBatcher.statistics().getNumberOfBatches()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.dto.CardSuggestionDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.search.CardNameAutocomplete;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class CardNameAutocompleteTests {
+
+    private CardNameAutocomplete cardNameAutocomplete;
+
+    @BeforeEach
+    void setUp() {
+        cardNameAutocomplete = new CardNameAutocomplete();
+        cardNameAutocomplete.update(List.of(
+                Deck.builder().nameOfDeck("first-deck").cards(List.of(
+                        Card.builder().name("Łucznik").number_of_copies(1).build(),
+                        Card.builder().name("Łotr").number_of_copies(3).build(),
+                        Card.builder().name("Smok").number_of_copies(1).build()
+                )).build(),
+                Deck.builder().nameOfDeck("second-deck").cards(List.of(
+                        Card.builder().name("Lucznik").number_of_copies(4).build()
+                )).build()
+        ));
+    }
+
+    @Test
+    void shouldCompleteIgnoringDiacritics() {
+        Assertions.assertThat(cardNameAutocomplete.complete("LU", 10))
+                .containsExactly(new CardSuggestionDTO("Łucznik", 5));
+    }
+
+    @Test
+    void shouldOrderByWeight() {
+        Assertions.assertThat(cardNameAutocomplete.complete("ł", 10))
+                .extracting(CardSuggestionDTO::getName)
+                .containsExactly("Łucznik", "Łotr");
+        Assertions.assertThat(cardNameAutocomplete.complete("", 1))
+                .extracting(CardSuggestionDTO::getName)
+                .containsExactly("Łucznik");
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownPrefix() {
+        Assertions.assertThat(cardNameAutocomplete.complete("smoki", 10)).isEmpty();
+        Assertions.assertThat(cardNameAutocomplete.complete("x", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepOnlyBestSuggestionsPerPrefix() {
+        var cards = IntStream.range(0, 20)
+                .mapToObj(i -> Card.builder().name("Wilk " + i).number_of_copies(i).build())
+                .toList();
+
+        cardNameAutocomplete.update(List.of(Deck.builder().nameOfDeck("deck").cards(cards).build()));
+
+        Assertions.assertThat(cardNameAutocomplete.complete("wilk", 20))
+                .hasSize(CardNameAutocomplete.MAX_SUGGESTIONS)
+                .first()
+                .isEqualTo(new CardSuggestionDTO("Wilk 19", 19));
+    }
+}
@@ -0,0 +1,75 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.config.FuzzyMatchProperties;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.search.CardNameMatcher;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CardNameMatcherTests {
+
+    private final FuzzyMatchProperties properties = new FuzzyMatchProperties();
+
+    private CardNameMatcher cardNameMatcher;
+
+    @BeforeEach
+    void setUp() {
+        cardNameMatcher = new CardNameMatcher(properties);
+        cardNameMatcher.update(List.of(Deck.builder().nameOfDeck("deck").cards(List.of(
+                Card.builder().name("Łucznik").build(),
+                Card.builder().name("Smok").build(),
+                Card.builder().name("Smoki").build(),
+                Card.builder().name("Niedźwiedź").build()
+        )).build()));
+    }
+
+    @Test
+    void shouldResolveNameDifferingOnlyInDiacritics() {
+        properties.setAutoResolve(true);
+
+        var result = cardNameMatcher.match("deck", "niedzwiedz");
+
+        Assertions.assertThat(result.resolved()).map(Card::getName).contains("Niedźwiedź");
+    }
+
+    @Test
+    void shouldResolveUniqueClosestName() {
+        properties.setAutoResolve(true);
+
+        var result = cardNameMatcher.match("deck", "Lucnzik");
+
+        Assertions.assertThat(result.resolved()).map(Card::getName).contains("Łucznik");
+        Assertions.assertThat(result.suggestions()).containsExactly("Łucznik");
+    }
+
+    @Test
+    void shouldNotResolveTie() {
+        properties.setAutoResolve(true);
+
+        var result = cardNameMatcher.match("deck", "Smoka");
+
+        Assertions.assertThat(result.resolved()).isEmpty();
+        Assertions.assertThat(result.suggestions()).containsExactly("Smok", "Smoki");
+    }
+
+    @Test
+    void shouldOnlySuggestByDefault() {
+        var result = cardNameMatcher.match("deck", "Lucznik");
+
+        Assertions.assertThat(result.resolved()).isEmpty();
+        Assertions.assertThat(result.suggestions()).containsExactly("Łucznik");
+    }
+
+    @Test
+    void shouldReturnNothingBeyondMaxDistance() {
+        var result = cardNameMatcher.match("deck", "Wilkołak");
+
+        Assertions.assertThat(result.resolved()).isEmpty();
+        Assertions.assertThat(result.suggestions()).isEmpty();
+        Assertions.assertThat(cardNameMatcher.match("unknown-deck", "Smok").suggestions()).isEmpty();
+    }
+}
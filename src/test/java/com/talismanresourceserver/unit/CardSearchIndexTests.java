@@ -0,0 +1,86 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.dto.CardSearchResultDTO;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.search.CardSearchIndex;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CardSearchIndexTests {
+
+    private CardSearchIndex cardSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        cardSearchIndex = new CardSearchIndex();
+        cardSearchIndex.update(List.of(
+                Deck.builder().nameOfDeck("first-deck").contentVersion("v1").cards(List.of(
+                        Card.builder().name("Łucznik").subtype("Człowiek").description("Strzela z łuku").build(),
+                        Card.builder().name("Smok").subtype("Potwór").description("Zieje ogniem na łucznika").build()
+                )).build(),
+                Deck.builder().nameOfDeck("second-deck").contentVersion("v1").cards(List.of(
+                        Card.builder().name("Wilk").subtype("Zwierzę").description("Poluje w lesie").build()
+                )).build()
+        ));
+    }
+
+    @Test
+    void shouldFindCardIgnoringDiacritics() {
+        var results = cardSearchIndex.search("lucznik", 10);
+
+        Assertions.assertThat(results).extracting(result -> result.getCard().getName()).containsExactly("Łucznik");
+    }
+
+    @Test
+    void shouldRankNameMatchesAboveDescriptionMatches() {
+        cardSearchIndex.update(List.of(Deck.builder().nameOfDeck("deck").contentVersion("v1").cards(List.of(
+                Card.builder().name("Ogień").build(),
+                Card.builder().name("Smok").description("Zieje ogniem").build(),
+                Card.builder().name("Ogniem").description("Ogniem").build()
+        )).build()));
+
+        Assertions.assertThat(cardSearchIndex.search("ogniem", 10))
+                .extracting(result -> result.getCard().getName())
+                .containsExactly("Ogniem", "Smok");
+    }
+
+    @Test
+    void shouldRequireEveryTerm() {
+        Assertions.assertThat(cardSearchIndex.search("poluje lesie", 10))
+                .extracting(CardSearchResultDTO::getNameOfDeck)
+                .containsExactly("second-deck");
+        Assertions.assertThat(cardSearchIndex.search("poluje smok", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldLimitResults() {
+        cardSearchIndex.update(List.of(Deck.builder().nameOfDeck("deck").contentVersion("v1").cards(List.of(
+                Card.builder().name("Wilk").build(),
+                Card.builder().name("Szary wilk").build(),
+                Card.builder().name("Biały wilk").build()
+        )).build()));
+
+        Assertions.assertThat(cardSearchIndex.search("wilk", 10)).hasSize(3);
+        Assertions.assertThat(cardSearchIndex.search("wilk", 2)).hasSize(2);
+        Assertions.assertThat(cardSearchIndex.search("!?", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRebuildOnlyChangedDecks() {
+        cardSearchIndex.update(List.of(
+                Deck.builder().nameOfDeck("first-deck").contentVersion("v1").cards(List.of()).build(),
+                Deck.builder().nameOfDeck("second-deck").contentVersion("v2").cards(List.of(
+                        Card.builder().name("Niedźwiedź").build()
+                )).build()
+        ));
+
+        // The first deck kept its version, so its segment is reused even though the cards passed in differ.
+        Assertions.assertThat(cardSearchIndex.search("smok", 10)).hasSize(1);
+        Assertions.assertThat(cardSearchIndex.search("wilk", 10)).isEmpty();
+        Assertions.assertThat(cardSearchIndex.search("niedzwiedz", 10)).hasSize(1);
+    }
+}
@@ -1,5 +1,12 @@
 package com.talismanresourceserver.unit;
 
+import com.talismanresourceserver.cache.CatalogNames;
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.config.FuzzyMatchProperties;
+import com.talismanresourceserver.draw.DeckDrawTables;
+import com.talismanresourceserver.dto.CardLookupDTO;
+import com.talismanresourceserver.dto.CardLookupResultDTO;
 import com.talismanresourceserver.exception.CardNotFoundException;
 import com.talismanresourceserver.exception.DeckNotFoundException;
 import com.talismanresourceserver.model.Card;
@@ -7,22 +14,31 @@ import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import com.talismanresourceserver.repository.DeckRepository;
+import com.talismanresourceserver.search.CardNameMatcher;
+import com.talismanresourceserver.service.CardLookupBatcher;
 import com.talismanresourceserver.service.CardService;
+import com.talismanresourceserver.service.SingleFlight;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class CardServiceTests {
@@ -30,6 +46,24 @@ public class CardServiceTests {
     @Mock
     private DeckRepository deckRepository;
 
+    @Mock
+    private DeckCache deckCache;
+
+    @Mock
+    private CardLookupBatcher cardLookupBatcher;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight();
+
+    @Spy
+    private CardNameMatcher cardNameMatcher = new CardNameMatcher(autoResolving());
+
+    @Spy
+    private CatalogNames catalogNames = new CatalogNames();
+
+    @Spy
+    private DeckDrawTables deckDrawTables = new DeckDrawTables(new CacheProperties());
+
     @InjectMocks
     private CardService cardService;
 
@@ -38,7 +72,7 @@ public class CardServiceTests {
         var deck_one = Deck.builder().nameOfDeck("test-deck-one").build();
         var deck_two = Deck.builder().nameOfDeck("test=deck-two").build();
 
-        given(deckRepository.findAll()).willReturn(Flux.just(deck_one, deck_two));
+        given(deckCache.getAllDecks()).willReturn(Flux.just(deck_one, deck_two));
 
         var result = cardService.getAllDecks();
 
@@ -53,7 +87,7 @@ public class CardServiceTests {
 
         var deck = Deck.builder().nameOfDeck("test-deck").build();
 
-        given(deckRepository.findDeckByNameOfDeck("test-deck")).willReturn(Mono.just(deck));
+        given(deckCache.getDeck("test-deck")).willReturn(Mono.just(deck));
 
         var result = cardService.getDeckByNameOfDeck("test-deck");
 
@@ -67,7 +101,7 @@ public class CardServiceTests {
 
     @Test
     void shouldThrowDeckNotFoundException() {
-        given(deckRepository.findDeckByNameOfDeck(anyString())).willReturn(Mono.empty());
+        given(deckCache.getDeck(anyString())).willReturn(Mono.empty());
 
         var result = cardService.getDeckByNameOfDeck("wrong");
 
@@ -76,6 +110,17 @@ public class CardServiceTests {
                 .verify();
     }
 
+    @Test
+    void shouldRejectUnknownDeckWithoutLookup() {
+        catalogNames.update(List.of(Deck.builder().nameOfDeck("test-deck").cards(List.of()).build()));
+
+        StepVerifier.create(cardService.getDeckByNameOfDeck("wrong"))
+                .expectError(DeckNotFoundException.class)
+                .verify();
+
+        verify(deckCache, never()).getDeck(anyString());
+    }
+
     @Test
     void shouldReturnCard() {
 
@@ -104,6 +149,46 @@ public class CardServiceTests {
                 .verify();
     }
 
+    @Test
+    void shouldResolveMisspelledCardWithoutAnotherQuery() {
+        var card = Card.builder().name("Łucznik").build();
+
+        cardNameMatcher.update(List.of(Deck.builder().nameOfDeck("name-of-deck").cards(List.of(card)).build()));
+        given(deckRepository.findCardInDeck(anyString(), anyString())).willReturn(Mono.empty());
+
+        StepVerifier.create(cardService.getCardFromDeckByName("name-of-deck", "lucznk"))
+                .expectNext(card)
+                .verifyComplete();
+
+        verify(deckRepository, times(1)).findCardInDeck(anyString(), anyString());
+    }
+
+    @Test
+    void shouldRejectUnknownCardWithoutQuery() {
+        catalogNames.update(List.of(Deck.builder().nameOfDeck("name-of-deck")
+                .cards(List.of(Card.builder().name("test-card").build())).build()));
+
+        StepVerifier.create(cardService.getCardFromDeckByName("name-of-deck", "unknown-card"))
+                .expectError(CardNotFoundException.class)
+                .verify();
+
+        verify(deckRepository, never()).findCardInDeck(anyString(), anyString());
+    }
+
+    @Test
+    void shouldSuggestCardsWhenMatchIsAmbiguous() {
+        cardNameMatcher.update(List.of(Deck.builder().nameOfDeck("name-of-deck").cards(List.of(
+                Card.builder().name("Wilk").build(),
+                Card.builder().name("Wilki").build()
+        )).build()));
+        given(deckRepository.findCardInDeck(anyString(), anyString())).willReturn(Mono.empty());
+
+        StepVerifier.create(cardService.getCardFromDeckByName("name-of-deck", "Wilka"))
+                .expectErrorSatisfies(error -> Assertions.assertThat(((CardNotFoundException) error).getSuggestions())
+                        .containsExactly("Wilk", "Wilki"))
+                .verify();
+    }
+
     @Test
     void shouldReturnPlaceCardsFromDeck() {
 
@@ -141,4 +226,80 @@ public class CardServiceTests {
                 .verifyComplete();
     }
 
+    @Test
+    void shouldReturnEnemiesFromDeckByFightPower() {
+        var card = Card.builder().name("enemy").type(CardType.WRÓG).fight_statistic(FightType.MOC).fight_power_value(4).build();
+
+        given(deckRepository.findEnemiesInDeckByFightPower("name-of-deck", 3, Integer.MAX_VALUE, List.of(FightType.MOC)))
+                .willReturn(Mono.just(Deck.builder().cards(List.of(card)).build()));
+
+        var result = cardService.getEnemiesFromDeckByFightPower("name-of-deck", 3, null, FightType.MOC);
+
+        StepVerifier.create(result)
+                .expectNext(card)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldLookupCardsWithOneQueryPerDeck() {
+        var card = Card.builder().name("card-one").build();
+
+        given(deckRepository.findCardsInDeck("deck-one", Set.of("card-one", "card-two")))
+                .willReturn(Mono.just(Deck.builder().cards(List.of(card)).build()));
+        given(deckRepository.findCardsInDeck("deck-two", Set.of("card-one")))
+                .willReturn(Mono.empty());
+
+        var result = cardService.lookupCards(List.of(
+                new CardLookupDTO("deck-one", "card-one"),
+                new CardLookupDTO("deck-two", "card-one"),
+                new CardLookupDTO("deck-one", "card-two"),
+                new CardLookupDTO("deck-one", "card-one")));
+
+        StepVerifier.create(result)
+                .expectNext(CardLookupResultDTO.found("deck-one", card))
+                .expectNext(CardLookupResultDTO.notFound("deck-two", "card-one"))
+                .expectNext(CardLookupResultDTO.notFound("deck-one", "card-two"))
+                .expectNext(CardLookupResultDTO.found("deck-one", card))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectTooManyLookups() {
+        var lookups = Collections.nCopies(CardService.MAX_LOOKUPS + 1, new CardLookupDTO("deck-one", "card-one"));
+
+        StepVerifier.create(cardService.lookupCards(lookups))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldDrawReproduciblyWithSeed() {
+        var deck = Deck.builder().nameOfDeck("test-deck").contentVersion("v1").cards(List.of(
+                Card.builder().name("enemy").type(CardType.WRÓG).number_of_copies(3).build(),
+                Card.builder().name("place").type(CardType.MIEJSCE).number_of_copies(1).build(),
+                Card.builder().name("missing").type(CardType.MIEJSCE).number_of_copies(0).build()
+        )).build();
+
+        given(deckCache.getDeck("test-deck")).willReturn(Mono.just(deck));
+
+        var first = cardService.drawCards("test-deck", 20, null, 42L).collectList().block();
+        var second = cardService.drawCards("test-deck", 20, null, 42L).collectList().block();
+
+        Assertions.assertThat(first).hasSize(20).isEqualTo(second);
+        Assertions.assertThat(first).extracting(Card::getName).doesNotContain("missing");
+
+        StepVerifier.create(cardService.drawCards("test-deck", 5, CardType.MIEJSCE, null))
+                .expectNextCount(5)
+                .verifyComplete();
+        StepVerifier.create(cardService.drawCards("test-deck", 5, CardType.PRZYJACIEL, null))
+                .expectError(CardNotFoundException.class)
+                .verify();
+    }
+
+    private static FuzzyMatchProperties autoResolving() {
+        var properties = new FuzzyMatchProperties();
+        properties.setAutoResolve(true);
+
+        return properties;
+    }
 }
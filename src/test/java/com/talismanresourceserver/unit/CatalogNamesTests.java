@@ -0,0 +1,48 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.cache.CatalogNames;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.util.List;
+
+public class CatalogNamesTests {
+
+    private final CatalogNames catalogNames = new CatalogNames();
+
+    @Test
+    void shouldAllowEverythingBeforeCatalogIsLoaded() {
+        Assertions.assertThat(catalogNames.mayContainDeck("any-deck")).isTrue();
+        Assertions.assertThat(catalogNames.mayContainCard("any-deck", "any-card")).isTrue();
+    }
+
+    @Test
+    void shouldRejectUnknownNames() {
+        catalogNames.update(List.of(Deck.builder().nameOfDeck("deck")
+                .cards(List.of(Card.builder().name("card").build(), Card.builder().build()))
+                .build()));
+
+        Assertions.assertThat(catalogNames.mayContainDeck("deck")).isTrue();
+        Assertions.assertThat(catalogNames.mayContainDeck("other-deck")).isFalse();
+        Assertions.assertThat(catalogNames.mayContainCard("deck", "card")).isTrue();
+        Assertions.assertThat(catalogNames.mayContainCard("deck", "other-card")).isFalse();
+        Assertions.assertThat(catalogNames.mayContainCard("other-deck", "card")).isFalse();
+    }
+
+    @Test
+    void shouldAcceptSavedDeckBeforeCatalogIsReloaded() {
+        catalogNames.update(List.of(Deck.builder().nameOfDeck("deck").cards(List.of()).build()));
+
+        catalogNames.onDeckSaved(new AfterSaveEvent<>(Deck.builder().nameOfDeck("new-deck")
+                .cards(List.of(Card.builder().name("new-card").build()))
+                .build(), new Document(), "cards"));
+
+        Assertions.assertThat(catalogNames.mayContainDeck("deck")).isTrue();
+        Assertions.assertThat(catalogNames.mayContainDeck("new-deck")).isTrue();
+        Assertions.assertThat(catalogNames.mayContainCard("new-deck", "new-card")).isTrue();
+    }
+}
@@ -0,0 +1,37 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.model.type.CardType;
+import com.talismanresourceserver.repository.DeckBeforeConvertCallback;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class DeckBeforeConvertCallbackTests {
+
+    @Test
+    void shouldVersionEqualContentEqually() {
+        var first = deckWithDescription("description");
+        var second = deckWithDescription("description");
+
+        Assertions.assertThat(DeckBeforeConvertCallback.computeContentVersion(first))
+                .isEqualTo(DeckBeforeConvertCallback.computeContentVersion(second));
+    }
+
+    @Test
+    void shouldChangeVersionWhenAnyCardFieldChanges() {
+        var original = deckWithDescription("description");
+        var changed = deckWithDescription("changed description");
+
+        Assertions.assertThat(DeckBeforeConvertCallback.computeContentVersion(original))
+                .isNotEqualTo(DeckBeforeConvertCallback.computeContentVersion(changed));
+    }
+
+    private static Deck deckWithDescription(String description) {
+        return Deck.builder().nameOfDeck("test-deck").cards(List.of(
+                Card.builder().name("place").type(CardType.MIEJSCE).number_of_copies(2).description(description).build()
+        )).build();
+    }
+}
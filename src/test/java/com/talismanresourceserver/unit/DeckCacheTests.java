@@ -0,0 +1,127 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.cache.DeckCatalogLoadedEvent;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.repository.DeckRepository;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DeckCacheTests {
+
+    @Mock
+    private DeckRepository deckRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DeckCache deckCache;
+
+    @BeforeEach
+    void setUp() {
+        deckCache = new DeckCache(deckRepository, new CacheProperties(), eventPublisher);
+    }
+
+    @Test
+    void shouldLoadDeckOnlyOnce() {
+        var deck = Deck.builder().nameOfDeck("test-deck").build();
+
+        given(deckRepository.findDeckByNameOfDeck("test-deck")).willReturn(Mono.just(deck));
+
+        StepVerifier.create(deckCache.getDeck("test-deck")).expectNext(deck).verifyComplete();
+        StepVerifier.create(deckCache.getDeck("test-deck")).expectNext(deck).verifyComplete();
+
+        verify(deckRepository, times(1)).findDeckByNameOfDeck("test-deck");
+
+        var statistics = deckCache.statistics();
+        Assertions.assertThat(statistics.getHitCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheMissingDeck() {
+        given(deckRepository.findDeckByNameOfDeck(anyString())).willReturn(Mono.empty());
+
+        StepVerifier.create(deckCache.getDeck("missing")).verifyComplete();
+        StepVerifier.create(deckCache.getDeck("missing")).verifyComplete();
+
+        verify(deckRepository, times(2)).findDeckByNameOfDeck("missing");
+    }
+
+    @Test
+    void shouldServeDecksFromListing() {
+        var deck_one = Deck.builder().nameOfDeck("deck-one").build();
+        var deck_two = Deck.builder().nameOfDeck("deck-two").build();
+
+        given(deckRepository.findAll()).willReturn(Flux.just(deck_one, deck_two));
+
+        StepVerifier.create(deckCache.getAllDecks()).expectNext(deck_one, deck_two).verifyComplete();
+        StepVerifier.create(deckCache.getAllDecks()).expectNext(deck_one, deck_two).verifyComplete();
+        StepVerifier.create(deckCache.getDeck("deck-two")).expectNext(deck_two).verifyComplete();
+
+        verify(deckRepository, times(1)).findAll();
+        verify(deckRepository, never()).findDeckByNameOfDeck(anyString());
+    }
+
+    @Test
+    void shouldReloadListingOnRefresh() {
+        var deck = Deck.builder().nameOfDeck("deck").build();
+
+        given(deckRepository.findAll()).willReturn(Flux.just(deck));
+
+        StepVerifier.create(deckCache.getAllDecks()).expectNext(deck).verifyComplete();
+        StepVerifier.create(deckCache.refresh())
+                .consumeNextWith(statistics -> Assertions.assertThat(statistics.getSize()).isEqualTo(1))
+                .verifyComplete();
+
+        verify(deckRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldPublishLoadedCatalog() {
+        var deck = Deck.builder().nameOfDeck("deck").build();
+
+        given(deckRepository.findAll()).willReturn(Flux.just(deck));
+
+        StepVerifier.create(deckCache.getAllDecks()).expectNext(deck).verifyComplete();
+
+        verify(eventPublisher, timeout(1000)).publishEvent(new DeckCatalogLoadedEvent(List.of(deck)));
+    }
+
+    @Test
+    void shouldReloadCatalogWhenDeckIsSaved() {
+        var deck = Deck.builder().nameOfDeck("deck").build();
+        var savedDeck = Deck.builder().nameOfDeck("saved-deck").build();
+
+        given(deckRepository.findAll()).willReturn(Flux.just(deck), Flux.just(deck, savedDeck));
+
+        StepVerifier.create(deckCache.getAllDecks()).expectNext(deck).verifyComplete();
+
+        deckCache.onDeckSaved(new AfterSaveEvent<>(savedDeck, new Document(), "cards"));
+
+        verify(eventPublisher, timeout(1000)).publishEvent(new DeckCatalogLoadedEvent(List.of(deck, savedDeck)));
+        StepVerifier.create(deckCache.getAllDecks()).expectNext(deck, savedDeck).verifyComplete();
+        verify(deckRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,65 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.cache.DeckPayloadCache;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+public class DeckPayloadCacheTests {
+
+    private final DeckPayloadCache deckPayloadCache = new DeckPayloadCache(new CacheProperties());
+
+    @Test
+    void shouldEncodeDeckAsJsonAndGzip() throws IOException {
+        var deck = Deck.builder()
+                .nameOfDeck("test-deck")
+                .contentVersion("v1")
+                .cards(List.of(Card.builder().name("Zbój").number_of_copies(2).build()))
+                .build();
+
+        var payload = deckPayloadCache.get(deck).block();
+
+        Assertions.assertThat(payload.version()).isEqualTo("v1");
+        Assertions.assertThat(payload.json())
+                .isEqualTo(Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(deck));
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+            Assertions.assertThat(gzip.readAllBytes()).isEqualTo(payload.json());
+        }
+    }
+
+    @Test
+    void shouldReuseEncodingWhileVersionIsUnchanged() {
+        var deck = Deck.builder().nameOfDeck("test-deck").contentVersion("v1").build();
+
+        var first = deckPayloadCache.get(deck).block();
+        var second = deckPayloadCache.get(Deck.builder().nameOfDeck("test-deck").contentVersion("v1").build()).block();
+
+        Assertions.assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldEncodeAgainWhenDeckChanges() {
+        var first = deckPayloadCache.get(Deck.builder().nameOfDeck("test-deck").contentVersion("v1").build()).block();
+        var changed = Deck.builder()
+                .nameOfDeck("test-deck")
+                .contentVersion("v2")
+                .cards(List.of(Card.builder().name("Zbój").build()))
+                .build();
+
+        var second = deckPayloadCache.get(changed).block();
+
+        Assertions.assertThat(second).isNotSameAs(first);
+        Assertions.assertThat(second.version()).isEqualTo("v2");
+        Assertions.assertThat(new String(second.json(), StandardCharsets.UTF_8)).contains("Zbój");
+    }
+}
@@ -0,0 +1,83 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.config.SessionProperties;
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.Deck;
+import com.talismanresourceserver.session.DeckSessionStore;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class DeckSessionTests {
+
+    private final DeckSessionStore deckSessionStore = new DeckSessionStore(new SessionProperties());
+
+    private final Deck deck = Deck.builder().nameOfDeck("test-deck").cards(List.of(
+            Card.builder().name("enemy").number_of_copies(3).build(),
+            Card.builder().name("place").number_of_copies(2).build(),
+            Card.builder().name("missing").number_of_copies(0).build()
+    )).build();
+
+    @Test
+    void shouldDrawEveryCopyExactlyOnce() {
+        var session = deckSessionStore.create(deck, 42L);
+
+        var drawn = session.draw(10);
+
+        Assertions.assertThat(drawn).extracting(Card::getName)
+                .containsExactlyInAnyOrder("enemy", "enemy", "enemy", "place", "place");
+        Assertions.assertThat(session.draw(1)).isEmpty();
+        Assertions.assertThat(session.toDTO().getNumberOfCardsInHand()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldShuffleReproduciblyWithSeed() {
+        var first = deckSessionStore.create(deck, 7L).draw(5);
+        var second = deckSessionStore.create(deck, 7L).draw(5);
+
+        Assertions.assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    void shouldReturnDiscardedCardsOnReshuffle() {
+        var session = deckSessionStore.create(deck, 1L);
+        var drawn = session.draw(5);
+
+        session.discard(List.of(drawn.get(0).getName(), drawn.get(1).getName()));
+
+        var afterDiscard = session.toDTO();
+        Assertions.assertThat(afterDiscard.getNumberOfCardsInHand()).isEqualTo(3);
+        Assertions.assertThat(afterDiscard.getNumberOfCardsInDiscardPile()).isEqualTo(2);
+
+        session.reshuffle();
+
+        var afterReshuffle = session.toDTO();
+        Assertions.assertThat(afterReshuffle.getNumberOfCardsInDrawPile()).isEqualTo(2);
+        Assertions.assertThat(afterReshuffle.getNumberOfCardsInDiscardPile()).isZero();
+        Assertions.assertThat(session.draw(5)).extracting(Card::getName)
+                .containsExactlyInAnyOrder(drawn.get(0).getName(), drawn.get(1).getName());
+    }
+
+    @Test
+    void shouldRejectDiscardOfCardNotInHand() {
+        var session = deckSessionStore.create(deck, 1L);
+        session.draw(1);
+
+        Assertions.assertThatThrownBy(() -> session.discard(List.of("missing")))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(session.toDTO().getNumberOfCardsInDiscardPile()).isZero();
+    }
+
+    @Test
+    void shouldFindAndRemoveSessions() {
+        var session = deckSessionStore.create(deck, null);
+
+        Assertions.assertThat(deckSessionStore.find(session.getId())).contains(session);
+        Assertions.assertThat(deckSessionStore.statistics().getEstimatedMemoryBytes()).isPositive();
+
+        deckSessionStore.remove(session.getId());
+
+        Assertions.assertThat(deckSessionStore.find(session.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.model.Card;
+import com.talismanresourceserver.model.type.CardType;
+import com.talismanresourceserver.model.type.FightType;
+import com.talismanresourceserver.statistics.EnemyStatsAccumulator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class EnemyStatsAccumulatorTests {
+
+    private static final List<Card> cards = List.of(
+            Card.builder().name("enemy-one").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).fight_power("2").number_of_copies(3).build(),
+            Card.builder().name("enemy-two").type(CardType.WRÓG).fight_statistic(FightType.MOC).fight_power("7").number_of_copies(1).build(),
+            Card.builder().name("enemy-three").type(CardType.WRÓG).fight_statistic(FightType.MOC).fight_power("?").number_of_copies(1).build(),
+            Card.builder().name("enemy-four").type(CardType.WRÓG).fight_statistic(FightType.SIŁA_MOC).fight_power("5").number_of_copies(5).build()
+    );
+
+    @Test
+    void shouldCombinePartialResultsLikeSinglePass() {
+        var singlePass = new EnemyStatsAccumulator();
+        cards.forEach(singlePass::accept);
+
+        var first = new EnemyStatsAccumulator();
+        var second = new EnemyStatsAccumulator();
+        cards.subList(0, 2).forEach(first::accept);
+        cards.subList(2, 4).forEach(second::accept);
+
+        Assertions.assertThat(first.combine(second).toDeckEnemiesStats()).isEqualTo(singlePass.toDeckEnemiesStats());
+    }
+
+    @Test
+    void shouldCollectInParallel() {
+        var stats = cards.parallelStream().collect(EnemyStatsAccumulator.collector()).toDeckEnemiesStats();
+
+        Assertions.assertThat(stats.getNumberOfEnemies()).isEqualTo(10);
+        Assertions.assertThat(stats.getMinEnemyPower()).isEqualTo(5);
+        Assertions.assertThat(stats.getMaxEnemyPower()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldParseFightPowerLikeCard() {
+        var card = Card.builder().name("enemy-five").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).fight_power(" 4 ").number_of_copies(1).build();
+        var resolved = Card.builder().name("enemy-five").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).fight_power(" 4 ").number_of_copies(1).build();
+        resolved.resolveFightPower();
+
+        var accumulator = new EnemyStatsAccumulator();
+        accumulator.accept(card);
+
+        var resolvedAccumulator = new EnemyStatsAccumulator();
+        resolvedAccumulator.accept(resolved);
+
+        Assertions.assertThat(accumulator.toDeckEnemiesStats().getMaxEnemyStrength()).isEqualTo(4);
+        Assertions.assertThat(accumulator.toDeckEnemiesStats()).isEqualTo(resolvedAccumulator.toDeckEnemiesStats());
+    }
+
+    @Test
+    void shouldReturnZerosForEmptyDeck() {
+        var stats = new EnemyStatsAccumulator().toDeckEnemiesStats();
+
+        Assertions.assertThat(stats.getNumberOfEnemies()).isZero();
+        Assertions.assertThat(stats.getMinEnemyStrength()).isZero();
+        Assertions.assertThat(stats.getMaxEnemyStrength()).isZero();
+        Assertions.assertThat(stats.getAverageEnemyStrength()).isZero();
+    }
+}
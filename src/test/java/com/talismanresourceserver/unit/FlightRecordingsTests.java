@@ -0,0 +1,72 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.exception.RecordingConflictException;
+import com.talismanresourceserver.exception.RecordingNotFoundException;
+import com.talismanresourceserver.jfr.FlightRecordings;
+import com.talismanresourceserver.jfr.StatisticsComputationEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+
+public class FlightRecordingsTests {
+
+    private final FlightRecordings flightRecordings = new FlightRecordings();
+
+    @AfterEach
+    void tearDown() {
+        flightRecordings.destroy();
+    }
+
+    @Test
+    void shouldAllowOnlyOneRunningRecording() {
+        var recording = flightRecordings.start(Duration.ofMinutes(1), 1024 * 1024);
+
+        Assertions.assertThat(recording.getState()).isEqualTo("RUNNING");
+        Assertions.assertThat(recording.getDurationSeconds()).isEqualTo(60);
+        Assertions.assertThatThrownBy(() -> flightRecordings.start(Duration.ofMinutes(1), 1024 * 1024))
+                .isInstanceOf(RecordingConflictException.class);
+
+        Assertions.assertThat(flightRecordings.stop().getState()).isEqualTo("STOPPED");
+        Assertions.assertThatThrownBy(flightRecordings::stop).isInstanceOf(RecordingConflictException.class);
+    }
+
+    @Test
+    void shouldRejectDownloadWithoutRecording() {
+        Assertions.assertThat(flightRecordings.status()).isEmpty();
+        Assertions.assertThatThrownBy(() -> flightRecordings.download().block())
+                .isInstanceOf(RecordingNotFoundException.class);
+    }
+
+    @Test
+    void shouldDownloadRecordedStatisticsEvents() throws IOException {
+        flightRecordings.start(Duration.ofMinutes(1), 16 * 1024 * 1024);
+
+        var result = StatisticsComputationEvent.record("getUniqueStatsFromDeck", "test-deck", 3, () -> 42);
+
+        flightRecordings.stop();
+
+        var file = Files.createTempFile("flight-recordings-test-", ".jfr");
+
+        try {
+            var content = flightRecordings.download().block();
+            DataBufferUtils.write(content, file).block();
+
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.talismanresourceserver.StatisticsComputation"))
+                    .toList();
+
+            Assertions.assertThat(result).isEqualTo(42);
+            Assertions.assertThat(events).hasSize(1);
+            Assertions.assertThat(events.get(0).getString("nameOfDeck")).isEqualTo("test-deck");
+            Assertions.assertThat(events.get(0).getInt("numberOfCards")).isEqualTo(3);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.metrics.RouteMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+public class RouteMetricsFilterTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RouteMetricsFilter routeMetricsFilter;
+    private HandlerMethod handlerMethod;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        routeMetricsFilter = new RouteMetricsFilter(new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                .getBeanProvider(MeterRegistry.class));
+        handlerMethod = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+    }
+
+    @Test
+    void shouldTimeRequestsByRouteAndOutcome() {
+        for (String nameOfDeck : new String[]{"first-deck", "second-deck"}) {
+            var exchange = routedExchange("/api/decks/" + nameOfDeck);
+
+            StepVerifier.create(routeMetricsFilter.filter(exchange, ignored -> Mono.empty()))
+                    .verifyComplete();
+        }
+
+        var notFound = routedExchange("/api/decks/missing-deck");
+
+        StepVerifier.create(routeMetricsFilter.filter(notFound, exchange -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+                    return Mono.empty();
+                }))
+                .verifyComplete();
+
+        var success = meterRegistry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("method", "GET", "uri", "/api/decks/{nameOfDeck}", "outcome", "SUCCESS")
+                .timer();
+        var clientError = meterRegistry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("uri", "/api/decks/{nameOfDeck}", "outcome", "CLIENT_ERROR")
+                .timer();
+
+        Assertions.assertThat(success).isNotNull();
+        Assertions.assertThat(success.count()).isEqualTo(2);
+        Assertions.assertThat(clientError).isNotNull();
+        Assertions.assertThat(clientError.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeUnroutedRequestsUnderUnknownRoute() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/missing"));
+
+        StepVerifier.create(routeMetricsFilter.filter(exchange,
+                        ignored -> Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND))))
+                .expectError(ResponseStatusException.class)
+                .verify();
+
+        var timer = meterRegistry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("uri", "UNKNOWN", "outcome", "CLIENT_ERROR")
+                .timer();
+
+        Assertions.assertThat(timer).isNotNull();
+        Assertions.assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeNonStandardMethodsUnderOtherMethod() {
+        for (String method : new String[]{"FOO", "BAR"}) {
+            var exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.valueOf(method), "/missing"));
+
+            StepVerifier.create(routeMetricsFilter.filter(exchange,
+                            ignored -> Mono.error(new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED))))
+                    .expectError(ResponseStatusException.class)
+                    .verify();
+        }
+
+        var timer = meterRegistry.find(RouteMetricsFilter.METRIC_NAME)
+                .tags("method", "OTHER", "uri", "UNKNOWN", "outcome", "CLIENT_ERROR")
+                .timer();
+
+        Assertions.assertThat(timer).isNotNull();
+        Assertions.assertThat(timer.count()).isEqualTo(2);
+        Assertions.assertThat(meterRegistry.find(RouteMetricsFilter.METRIC_NAME).timers()).hasSize(1);
+    }
+
+    private ServerWebExchange routedExchange(String path) {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+
+        exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+        exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                PathPatternParser.defaultInstance.parse("/api/decks/{nameOfDeck}"));
+
+        return exchange;
+    }
+}
@@ -0,0 +1,56 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.service.SingleFlight;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTests {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void shouldShareInFlightCall() {
+        var subscriptions = new AtomicInteger();
+        var upstream = Sinks.<String>one();
+
+        var first = singleFlight.mono(() -> upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet()), "key");
+        var second = singleFlight.mono(() -> upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet()), "key");
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue("value"))
+                .consumeNextWith(values -> {
+                    Assertions.assertThat(values.getT1()).isEqualTo("value");
+                    Assertions.assertThat(values.getT2()).isEqualTo("value");
+                })
+                .verifyComplete();
+
+        Assertions.assertThat(subscriptions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotShareCompletedCall() {
+        var subscriptions = new AtomicInteger();
+
+        StepVerifier.create(singleFlight.mono(() -> Mono.fromCallable(subscriptions::incrementAndGet), "key"))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(singleFlight.mono(() -> Mono.fromCallable(subscriptions::incrementAndGet), "key"))
+                .expectNext(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotShareCallsWithDifferentArguments() {
+        StepVerifier.create(Flux.concat(
+                        singleFlight.flux(() -> Flux.just(1, 2), "key", 1),
+                        singleFlight.flux(() -> Flux.just(3), "key", 2)))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+    }
+}
@@ -1,11 +1,20 @@
 package com.talismanresourceserver.unit;
 
+import com.talismanresourceserver.cache.CatalogStatisticsCache;
+import com.talismanresourceserver.cache.DeckCache;
+import com.talismanresourceserver.config.CacheProperties;
+import com.talismanresourceserver.config.SimulationProperties;
+import com.talismanresourceserver.exception.SimulationRejectedException;
 import com.talismanresourceserver.model.Card;
 import com.talismanresourceserver.model.Deck;
 import com.talismanresourceserver.model.type.CardType;
 import com.talismanresourceserver.model.type.FightType;
 import com.talismanresourceserver.repository.DeckRepository;
+import com.talismanresourceserver.service.SingleFlight;
 import com.talismanresourceserver.service.StatisticsService;
+import com.talismanresourceserver.statistics.FightOddsTables;
+import com.talismanresourceserver.statistics.MonteCarloSimulator;
+import com.talismanresourceserver.statistics.SimulationQuery;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.BeforeAll;
@@ -13,11 +22,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +43,21 @@ public class StatisticServiceTests {
     @Mock
     private DeckRepository deckRepository;
 
+    @Mock
+    private DeckCache deckCache;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight();
+
+    @Spy
+    private MonteCarloSimulator monteCarloSimulator = new MonteCarloSimulator(new CacheProperties(), new SimulationProperties());
+
+    @Spy
+    private FightOddsTables fightOddsTables = new FightOddsTables(new CacheProperties());
+
+    @Spy
+    private CatalogStatisticsCache catalogStatisticsCache = new CatalogStatisticsCache();
+
     @InjectMocks
     private StatisticsService statisticsService;
 
@@ -51,15 +77,14 @@ public class StatisticServiceTests {
 
     @Test
     void shouldReturnStatisticsFromAllDecks() {
-        given(deckRepository.findAll()).willReturn(Flux.fromIterable(decks));
-        given(deckRepository.findDeckByNameOfDeck("Deck-one")).willReturn(Mono.just(decks.get(0)));
-        given(deckRepository.findDeckByNameOfDeck("Deck-two")).willReturn(Mono.just(decks.get(1)));
+        given(deckCache.getAllDecks()).willReturn(Flux.fromIterable(decks));
 
-        var result = statisticsService.getAllStats();
+        var result = statisticsService.getAllStats().map(StatisticsService.CatalogStatistics::statistics);
 
         StepVerifier.create(result)
                 .consumeNextWith(deckStatisticsDTO -> {
                     Assertions.assertThat(deckStatisticsDTO).isNotNull();
+                    Assertions.assertThat(deckStatisticsDTO.getNumberOfCards()).isEqualTo(9);
                     Assertions.assertThat(deckStatisticsDTO.getNumberOfEnemies()).isEqualTo(7);
                 })
                 .verifyComplete();
@@ -67,23 +92,38 @@ public class StatisticServiceTests {
 
     @Test
     void shouldReturnStatisticsFromUniqueDecks() {
-        given(deckRepository.findAll()).willReturn(Flux.fromIterable(decks));
-        given(deckRepository.findDeckByNameOfDeck("Deck-one")).willReturn(Mono.just(decks.get(0)));
-        given(deckRepository.findDeckByNameOfDeck("Deck-two")).willReturn(Mono.just(decks.get(1)));
+        given(deckCache.getAllDecks()).willReturn(Flux.fromIterable(decks));
 
-        var result = statisticsService.getUniqueStats();
+        var result = statisticsService.getUniqueStats().map(StatisticsService.CatalogStatistics::statistics);
 
         StepVerifier.create(result)
                 .consumeNextWith(deckStatisticsDTO -> {
                     Assertions.assertThat(deckStatisticsDTO).isNotNull();
+                    Assertions.assertThat(deckStatisticsDTO.getNumberOfCards()).isEqualTo(5);
                     Assertions.assertThat(deckStatisticsDTO.getNumberOfEnemies()).isEqualTo(3);
                 })
                 .verifyComplete();
     }
 
+    @Test
+    void shouldComputeStatisticsOncePerCatalogVersion() {
+        var deck = Deck.builder().nameOfDeck("Deck-one").contentVersion("v1").cards(decks.get(0).getCards()).build();
+
+        given(deckCache.getAllDecks()).willReturn(Flux.just(deck));
+
+        var first = statisticsService.getAllStats().block();
+        var second = statisticsService.getAllStats().block();
+        var unique = statisticsService.getUniqueStats().block();
+
+        Assertions.assertThat(second.statistics()).isSameAs(first.statistics());
+        Assertions.assertThat(first.statistics().getNumberOfCards()).isEqualTo(5);
+        Assertions.assertThat(unique.statistics().getNumberOfCards()).isEqualTo(3);
+        Assertions.assertThat(first.version()).isEqualTo(DeckCache.versionOf(List.of(deck)));
+    }
+
     @Test
     void shouldReturnStatisticsFromAllFromSpecificDeck() {
-        given(deckRepository.findDeckByNameOfDeck("Deck-one")).willReturn(Mono.just(decks.get(0)));
+        given(deckCache.getDeck("Deck-one")).willReturn(Mono.just(decks.get(0)));
 
         var result = statisticsService.getAllStatsFromDeck("Deck-one");
 
@@ -98,7 +138,7 @@ public class StatisticServiceTests {
 
     @Test
     void shouldReturnStatisticsFromUniqueFromSpecificDeck() {
-        given(deckRepository.findDeckByNameOfDeck("Deck-one")).willReturn(Mono.just(decks.get(0)));
+        given(deckCache.getDeck("Deck-one")).willReturn(Mono.just(decks.get(0)));
 
         var result = statisticsService.getUniqueStatsFromDeck("Deck-one");
 
@@ -141,6 +181,30 @@ public class StatisticServiceTests {
                 .verifyComplete();
     }
 
+    @Test
+    void shouldReturnDeckEnemiesStatsWithoutPowerEnemies() {
+        var cards = List.of(
+                Card.builder().name("enemy-one").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).fight_power("2").number_of_copies(3).build(),
+                Card.builder().name("enemy-two").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).fight_power("4").number_of_copies(1).build()
+        );
+
+        given(deckRepository.findCardsOfTypeInDeck(anyString(), eq(CardType.WRÓG))).willReturn(Mono.just(Deck.builder().cards(cards).build()));
+
+        var result = statisticsService.getAllEnemiesFromDeck("deck");
+
+        StepVerifier.create(result)
+                .consumeNextWith(deckEnemiesStatsDTO -> {
+                    Assertions.assertThat(deckEnemiesStatsDTO.getNumberOfEnemies()).isEqualTo(4);
+                    Assertions.assertThat(deckEnemiesStatsDTO.getNumberOfEnemiesWithStrength()).isEqualTo(4);
+                    Assertions.assertThat(deckEnemiesStatsDTO.getAverageEnemyStrength()).isEqualTo(2.5);
+                    Assertions.assertThat(deckEnemiesStatsDTO.getNumberOfEnemiesWithPower()).isZero();
+                    Assertions.assertThat(deckEnemiesStatsDTO.getAverageEnemyPower()).isZero();
+                    Assertions.assertThat(deckEnemiesStatsDTO.getMinEnemyPower()).isZero();
+                    Assertions.assertThat(deckEnemiesStatsDTO.getMaxEnemyPower()).isZero();
+                })
+                .verifyComplete();
+    }
+
     @Test
     void shouldReturnEnemiesByPower() {
         var cards = List.of(
@@ -164,4 +228,105 @@ public class StatisticServiceTests {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    void shouldEstimateProbabilityOfMeetingStrongEnemy() {
+        // 4 of 10 cards are strong enemies, so P(at least one in 2 draws) = 1 - (6/10 * 5/9) = 2/3.
+        var deck = Deck.builder().nameOfDeck("Deck-one").contentVersion("v1").cards(List.of(
+                Card.builder().name("Strong").type(CardType.WRÓG).fight_power("5").number_of_copies(4).build(),
+                Card.builder().name("Weak").type(CardType.WRÓG).fight_power("2").number_of_copies(2).build(),
+                Card.builder().name("Place").type(CardType.MIEJSCE).number_of_copies(4).build()
+        )).build();
+
+        given(deckCache.getDeck("Deck-one")).willReturn(Mono.just(deck));
+
+        var query = new SimulationQuery(2, 4, null, 200_000, Duration.ofSeconds(10));
+
+        StepVerifier.create(statisticsService.simulate("Deck-one", query))
+                .consumeNextWith(result -> {
+                    Assertions.assertThat(result.getTrials()).isEqualTo(200_000);
+                    Assertions.assertThat(result.getEstimate()).isCloseTo(2.0 / 3, Offset.offset(0.01));
+                    Assertions.assertThat(result.getLowerBound()).isLessThan(2.0 / 3);
+                    Assertions.assertThat(result.getUpperBound()).isGreaterThan(2.0 / 3);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldEstimateExpectedNumberOfCardsOfType() {
+        // Drawing 5 of 10 cards where 4 are places gives 5 * 4/10 = 2 places on average.
+        var deck = Deck.builder().nameOfDeck("Deck-one").cards(List.of(
+                Card.builder().name("Enemy").type(CardType.WRÓG).number_of_copies(6).build(),
+                Card.builder().name("Place").type(CardType.MIEJSCE).number_of_copies(4).build()
+        )).build();
+
+        given(deckCache.getDeck("Deck-one")).willReturn(Mono.just(deck));
+
+        var query = new SimulationQuery(5, null, CardType.MIEJSCE, 200_000, Duration.ofSeconds(10));
+
+        StepVerifier.create(statisticsService.simulate("Deck-one", query))
+                .consumeNextWith(result -> Assertions.assertThat(result.getEstimate()).isCloseTo(2.0, Offset.offset(0.02)))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotCacheResultCutShortByBudget() {
+        var deck = Deck.builder().nameOfDeck("Deck-one").contentVersion("v1").cards(List.of(
+                Card.builder().name("Enemy").type(CardType.WRÓG).number_of_copies(6).build(),
+                Card.builder().name("Place").type(CardType.MIEJSCE).number_of_copies(4).build()
+        )).build();
+
+        given(deckCache.getDeck("Deck-one")).willReturn(Mono.just(deck));
+
+        var query = new SimulationQuery(5, null, CardType.MIEJSCE, Long.MAX_VALUE, Duration.ZERO);
+
+        var first = statisticsService.simulate("Deck-one", query).block();
+        var second = statisticsService.simulate("Deck-one", query).block();
+
+        Assertions.assertThat(first.isBudgetExhausted()).isTrue();
+        Assertions.assertThat(second.isBudgetExhausted()).isTrue();
+        Assertions.assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void shouldRejectSimulationWhenEverySlotIsTaken() {
+        var simulationProperties = new SimulationProperties();
+        simulationProperties.setMaxConcurrentSimulations(0);
+
+        var simulator = new MonteCarloSimulator(new CacheProperties(), simulationProperties);
+        var deck = Deck.builder().nameOfDeck("Deck-one").contentVersion("v1").cards(List.of(
+                Card.builder().name("Place").type(CardType.MIEJSCE).number_of_copies(4).build()
+        )).build();
+
+        try {
+            StepVerifier.create(simulator.simulate(deck, new SimulationQuery(2, null, CardType.MIEJSCE, 1_000, Duration.ofSeconds(1))))
+                    .expectError(SimulationRejectedException.class)
+                    .verify();
+        } finally {
+            simulator.destroy();
+        }
+    }
+
+    @Test
+    void shouldComputeExactFightOdds() {
+        // Against power 4 with strength 4 the dice decide alone: 15/36 win, 6/36 stand-off, 15/36 lose.
+        // Against power 2 with strength 4 the player wins unless the enemy rolls at least 2 more: 26/36, 4/36, 6/36.
+        var deck = Deck.builder().nameOfDeck("Deck-one").contentVersion("v1").cards(List.of(
+                Card.builder().name("Even").type(CardType.WRÓG).fight_statistic(FightType.SIŁA).fight_power("4").number_of_copies(1).build(),
+                Card.builder().name("Weak").type(CardType.WRÓG).fight_statistic(FightType.SIŁA_MOC).fight_power("2").number_of_copies(1).build(),
+                Card.builder().name("Unknown").type(CardType.WRÓG).fight_statistic(FightType.MOC).fight_power("?").number_of_copies(2).build()
+        )).build();
+
+        given(deckCache.getDeck("Deck-one")).willReturn(Mono.just(deck));
+
+        StepVerifier.create(statisticsService.getFightOdds("Deck-one", 4, 1))
+                .consumeNextWith(odds -> {
+                    Assertions.assertThat(odds.getWinProbability()).isCloseTo((15.0 + 26) / 72, Offset.offset(1e-9));
+                    Assertions.assertThat(odds.getStandOffProbability()).isCloseTo((6.0 + 4) / 72, Offset.offset(1e-9));
+                    Assertions.assertThat(odds.getLoseProbability()).isCloseTo((15.0 + 6) / 72, Offset.offset(1e-9));
+                    Assertions.assertThat(odds.getNumberOfEnemies()).isEqualTo(2);
+                    Assertions.assertThat(odds.getNumberOfEnemiesWithUnknownPower()).isEqualTo(2);
+                })
+                .verifyComplete();
+    }
 }
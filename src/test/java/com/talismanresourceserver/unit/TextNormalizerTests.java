@@ -0,0 +1,29 @@
+package com.talismanresourceserver.unit;
+
+import com.talismanresourceserver.search.TextNormalizer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TextNormalizerTests {
+
+    @Test
+    void shouldFoldPolishDiacritics() {
+        Assertions.assertThat(TextNormalizer.fold("ZAŻÓŁĆ gęślą jaźń")).isEqualTo("zazolc gesla jazn");
+    }
+
+    @Test
+    void shouldFoldOtherAccents() {
+        Assertions.assertThat(TextNormalizer.fold("Café Über")).isEqualTo("cafe uber");
+    }
+
+    @Test
+    void shouldTokenizeOnNonLetters() {
+        Assertions.assertThat(TextNormalizer.tokenize("Łucznik-Wędrowny, siła 4!"))
+                .containsExactly("lucznik", "wedrowny", "sila", "4");
+    }
+
+    @Test
+    void shouldReturnNoTokensForNull() {
+        Assertions.assertThat(TextNormalizer.tokenize(null)).isEmpty();
+    }
+}